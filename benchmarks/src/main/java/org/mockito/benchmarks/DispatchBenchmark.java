@@ -0,0 +1,54 @@
+package org.mockito.benchmarks;
+
+import org.mockito.JMockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark
+{
+  @Param({"1", "100", "10000"})
+  private int stubbings;
+
+  @Param({"false", "true"})
+  private boolean proxy;
+
+  private Service mock;
+  private int n;
+
+  @Setup
+  public void setUp()
+  {
+    mock = proxy ? JMockito.proxy(Service.class) : JMockito.mock(Service.class);
+    JMockito.When<Service> when = JMockito.when(mock);
+
+    for (int i = 0; i < stubbings; i++)
+    {
+      int argument = i;
+      when.executes(t -> t.nonVoidMethod(argument)).thenReturn(Integer.toString(argument));
+    }
+  }
+
+  @Benchmark
+  public String stubbedInvocation()
+  {
+    n = (n + 1) % stubbings;
+    return mock.nonVoidMethod(n);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package org.mockito.benchmarks;
+
+import org.mockito.JMockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MockBenchmark
+{
+  private Service mock;
+
+  @Setup
+  public void setUp()
+  {
+    mock = JMockito.mock(Service.class, "service");
+  }
+
+  @Benchmark
+  public Service mockWithoutName()
+  {
+    return JMockito.mock(Service.class);
+  }
+
+  @Benchmark
+  public Service mockWithName()
+  {
+    return JMockito.mock(Service.class, "service");
+  }
+
+  @Benchmark
+  public Service proxyWithName()
+  {
+    return JMockito.proxy(Service.class, "service");
+  }
+
+  @Benchmark
+  public Service reset()
+  {
+    JMockito.reset(mock);
+    return mock;
+  }
+}
@@ -0,0 +1,60 @@
+package org.mockito.benchmarks;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.mockito.Mockery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MockeryBenchmark
+{
+  @Param({"1", "10", "100"})
+  public int mocks;
+
+  @Param({"1", "10"})
+  public int stubbings;
+
+  @Benchmark
+  public Mockery apply() throws Throwable
+  {
+    Mockery mockery = new Mockery();
+    mockery.apply(new Statement()
+    {
+      public void evaluate()
+      {
+        for (int i = 0; i < mocks; i++)
+        {
+          Service mock = mockery.mock(Service.class);
+
+          for (int j = 0; j < stubbings; j++)
+          {
+            int n = j;
+            mockery.when(mock).executes(t -> t.nonVoidMethod(n)).thenReturn("value");
+          }
+
+          for (int j = 0; j < stubbings; j++)
+          {
+            mock.nonVoidMethod(j);
+          }
+        }
+      }
+    }, Description.EMPTY).evaluate();
+    return mockery;
+  }
+}
@@ -0,0 +1,8 @@
+package org.mockito.benchmarks;
+
+public interface Service
+{
+  String nonVoidMethod(int n);
+
+  void voidMethod(int n);
+}
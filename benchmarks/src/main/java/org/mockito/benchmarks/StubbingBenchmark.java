@@ -0,0 +1,98 @@
+package org.mockito.benchmarks;
+
+import org.mockito.JMockito;
+import org.mockito.Matchers;
+import org.mockito.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = StubbingBenchmark.BATCH)
+@Measurement(iterations = 5, batchSize = StubbingBenchmark.BATCH)
+@Fork(1)
+@State(Scope.Thread)
+public class StubbingBenchmark
+{
+  static final int BATCH = 10_000;
+
+  private static final Template<Service, String> nonVoidMethod = JMockito.template(Service.class, t -> t.nonVoidMethod(Matchers.anyInt()));
+
+  private final Service[] mocks = new Service[BATCH];
+  private int next;
+
+  @Setup(Level.Iteration)
+  public void setUp()
+  {
+    for (int i = 0; i < BATCH; i++)
+    {
+      mocks[i] = JMockito.mock(Service.class);
+    }
+
+    next = 0;
+  }
+
+  private Service mock()
+  {
+    return mocks[next++];
+  }
+
+  @Benchmark
+  public Service when()
+  {
+    Service mock = mock();
+    JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+    return mock;
+  }
+
+  @Benchmark
+  public Service whenRuns()
+  {
+    Service mock = mock();
+    JMockito.when(mock).runs(t -> t.voidMethod(13)).doNothing();
+    return mock;
+  }
+
+  @Benchmark
+  public Service returnValue()
+  {
+    Service mock = mock();
+    JMockito.returnValue("dodici").when(mock).executes(t -> t.nonVoidMethod(12));
+    return mock;
+  }
+
+  @Benchmark
+  public Service given()
+  {
+    Service mock = mock();
+    JMockito.given(mock).executing(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+    return mock;
+  }
+
+  @Benchmark
+  public Service template()
+  {
+    Service mock = mock();
+    nonVoidMethod.when(mock, 12).thenReturn("dodici");
+    return mock;
+  }
+
+  @Benchmark
+  public String stubbedInvocation()
+  {
+    Service mock = mock();
+    JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+    return mock.nonVoidMethod(12);
+  }
+}
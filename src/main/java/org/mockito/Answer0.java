@@ -0,0 +1,6 @@
+package org.mockito;
+
+public interface Answer0<VALUE>
+{
+  VALUE answer() throws Throwable;
+}
\ No newline at end of file
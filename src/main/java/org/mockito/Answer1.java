@@ -0,0 +1,6 @@
+package org.mockito;
+
+public interface Answer1<VALUE, A1>
+{
+  VALUE answer(A1 a1) throws Throwable;
+}
\ No newline at end of file
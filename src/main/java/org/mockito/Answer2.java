@@ -0,0 +1,6 @@
+package org.mockito;
+
+public interface Answer2<VALUE, A1, A2>
+{
+  VALUE answer(A1 a1, A2 a2) throws Throwable;
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package org.mockito;
+
+public interface Answer3<VALUE, A1, A2, A3>
+{
+  VALUE answer(A1 a1, A2 a2, A3 a3) throws Throwable;
+}
\ No newline at end of file
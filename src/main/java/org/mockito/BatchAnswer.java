@@ -0,0 +1,40 @@
+package org.mockito;
+
+import org.hamcrest.Description;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class BatchAnswer implements Answer<Object>
+{
+  private final HashMap<Object, Object> results;
+
+  BatchAnswer(Map<?, ?> results)
+  {
+    this.results = new HashMap<>(results);
+  }
+
+  public Object answer(InvocationOnMock invocationOnMock)
+  {
+    return results.get(invocationOnMock.getArguments()[0]);
+  }
+
+  ArgumentMatcher<Object> argumentMatcher()
+  {
+    return new ArgumentMatcher<Object>()
+    {
+      public boolean matches(Object argument)
+      {
+        return results.containsKey(argument);
+      }
+
+      @Override
+      public void describeTo(Description description)
+      {
+        description.appendText("oneOf(" + results.keySet() + ")");
+      }
+    };
+  }
+}
\ No newline at end of file
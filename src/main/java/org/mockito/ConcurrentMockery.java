@@ -0,0 +1,10 @@
+package org.mockito;
+
+@SuppressWarnings("WeakerAccess")
+public class ConcurrentMockery extends Mockery
+{
+  public ConcurrentMockery()
+  {
+    super(StripedRegistry::new);
+  }
+}
\ No newline at end of file
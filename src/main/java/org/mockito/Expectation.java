@@ -0,0 +1,157 @@
+package org.mockito;
+
+import org.hamcrest.Matcher;
+import org.mockito.internal.invocation.InvocationMatcher;
+import org.mockito.internal.matchers.Equals;
+import org.mockito.internal.stubbing.StubbedInvocationMatcher;
+import org.mockito.invocation.Invocation;
+import org.mockito.invocation.Location;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+final class Expectation
+{
+  private final Object mock;
+  private final InvocationMatcher wanted;
+  private final List<Object> exactKey;
+  private final StubbedInvocationMatcher stubbing;
+  private int minimum = 1;
+  private int maximum = 1;
+  private int count;
+  private Location undesired;
+
+  private Expectation(Object mock, InvocationMatcher wanted, Object[] exactArguments)
+  {
+    this(mock, wanted, exactArguments, null);
+  }
+
+  private Expectation(Object mock, InvocationMatcher wanted, Object[] exactArguments, StubbedInvocationMatcher stubbing)
+  {
+    this.mock = mock;
+    this.wanted = wanted;
+    this.stubbing = stubbing;
+    exactKey = exactArguments == null ? null : key(wanted.getMethod().getName(), exactArguments);
+  }
+
+  static Expectation of(Object mock, StubbedInvocationMatcher stubbing)
+  {
+    InvocationMatcher wanted = LightInvocation.matcher(stubbing.getInvocation(), stubbing.getMatchers());
+    return new Expectation(mock, wanted, isExact(wanted) ? wanted.getInvocation().getArguments() : null, stubbing);
+  }
+
+  static List<Expectation> of(Object mock, InvocationMatcher stubbing, Collection<?> arguments)
+  {
+    Invocation invocation = stubbing.getInvocation();
+    List<Expectation> expectations = new ArrayList<>(arguments.size());
+    arguments.forEach(argument -> expectations.add(new Expectation(mock, LightInvocation.matcher(invocation, Collections.singletonList(new Equals(argument))), new Object[]{argument})));
+    return expectations;
+  }
+
+  static boolean isExact(InvocationMatcher wanted)
+  {
+    for (Matcher<?> matcher : wanted.getMatchers())
+    {
+      if (matcher.getClass() != Equals.class)
+      {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  static List<Object> key(String methodName, Object[] arguments)
+  {
+    List<Object> key = new ArrayList<>(arguments.length + 1);
+    key.add(methodName);
+    Collections.addAll(key, arguments);
+    return key;
+  }
+
+  Object mock()
+  {
+    return mock;
+  }
+
+  InvocationMatcher wanted()
+  {
+    return wanted;
+  }
+
+  String methodName()
+  {
+    return wanted.getMethod().getName();
+  }
+
+  List<Object> exactKey()
+  {
+    return exactKey;
+  }
+
+  StubbedInvocationMatcher stubbing()
+  {
+    return stubbing;
+  }
+
+  boolean unused()
+  {
+    return stubbing != null && !stubbing.wasUsed();
+  }
+
+  boolean matches(Invocation invocation)
+  {
+    if (wanted.matches(invocation))
+    {
+      if (++count == maximum + 1)
+      {
+        undesired = invocation.getLocation();
+      }
+
+      return true;
+    }
+
+    return false;
+  }
+
+  Expectation atLeast(int minimum)
+  {
+    this.minimum = minimum;
+    maximum = Integer.MAX_VALUE;
+    return this;
+  }
+
+  Expectation atMost(int maximum)
+  {
+    this.maximum = maximum;
+    return this;
+  }
+
+  int minimum()
+  {
+    return minimum;
+  }
+
+  int maximum()
+  {
+    return maximum;
+  }
+
+  int count()
+  {
+    return count;
+  }
+
+  Location undesired()
+  {
+    return undesired;
+  }
+
+  void clear()
+  {
+    count = 0;
+    undesired = null;
+  }
+}
\ No newline at end of file
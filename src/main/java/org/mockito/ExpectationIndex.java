@@ -0,0 +1,62 @@
+package org.mockito;
+
+import org.mockito.invocation.Invocation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+final class ExpectationIndex
+{
+  private final List<Expectation> expectations = new ArrayList<>();
+  private final HashMap<List<Object>, List<Expectation>> byArguments = new HashMap<>();
+  private final HashMap<String, List<Expectation>> byMethod = new HashMap<>();
+
+  void add(Expectation expectation)
+  {
+    expectations.add(expectation);
+
+    if (expectation.exactKey() == null)
+    {
+      byMethod.computeIfAbsent(expectation.methodName(), methodName -> new ArrayList<>()).add(expectation);
+    }
+    else
+    {
+      byArguments.computeIfAbsent(expectation.exactKey(), key -> new ArrayList<>()).add(expectation);
+    }
+  }
+
+  boolean matches(Invocation invocation)
+  {
+    String methodName = invocation.getMethod().getName();
+    boolean matched = !byArguments.isEmpty() && matches(invocation, byArguments.get(Expectation.key(methodName, invocation.getArguments())));
+    return matches(invocation, byMethod.get(methodName)) || matched;
+  }
+
+  private static boolean matches(Invocation invocation, List<Expectation> candidates)
+  {
+    boolean matched = false;
+
+    if (candidates != null)
+    {
+      for (Expectation candidate : candidates)
+      {
+        matched |= candidate.matches(invocation);
+      }
+    }
+
+    return matched;
+  }
+
+  void clearCounts()
+  {
+    expectations.forEach(Expectation::clear);
+  }
+
+  void clear()
+  {
+    expectations.clear();
+    byArguments.clear();
+    byMethod.clear();
+  }
+}
\ No newline at end of file
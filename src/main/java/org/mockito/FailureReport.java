@@ -0,0 +1,165 @@
+package org.mockito;
+
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.debugging.LocationImpl;
+import org.mockito.invocation.Invocation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class FailureReport
+{
+  private final int limit;
+  private final Path dumpDirectory;
+
+  FailureReport(int limit, Path dumpDirectory)
+  {
+    if (limit < 0)
+    {
+      throw new MockitoException("cannot report a negative number of invocations: " + limit);
+    }
+
+    this.limit = limit;
+    this.dumpDirectory = dumpDirectory;
+  }
+
+  String noMoreInteractionsWanted(Object mock, List<Invocation> invocations)
+  {
+    Tally tally = new Tally(limit);
+    String dump;
+
+    if (dumpDirectory == null)
+    {
+      invocations.forEach(tally::add);
+      dump = null;
+    }
+    else
+    {
+      dump = dump(mock, invocations, tally);
+    }
+
+    StringBuilder message = new StringBuilder("\nNo interactions wanted here:\n").append(new LocationImpl()).append("\n");
+    message.append("But found ").append(tally.unexpected).append(" unexpected interactions on mock '").append(mock).append("', out of ").append(tally.invocations).append(":\n");
+    tally.byMethod.forEach((method, counts) -> message.append("  ").append(method).append(": ").append(counts[0]).append(" invocations, ").append(counts[1]).append(" unexpected\n"));
+    print(message, "First", tally.first, 1);
+    print(message, "Last", tally.last, tally.unexpected - tally.last.size() + 1);
+
+    if (dump != null)
+    {
+      message.append(dump).append("\n");
+    }
+
+    return message.toString();
+  }
+
+  private String dump(Object mock, List<Invocation> invocations, Tally tally)
+  {
+    Path file = null;
+
+    try
+    {
+      Files.createDirectories(dumpDirectory);
+      file = Files.createTempFile(dumpDirectory, mock.toString().replaceAll("[^A-Za-z0-9._-]", "_") + "-", ".log");
+
+      try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+      {
+        for (Invocation invocation : invocations)
+        {
+          tally.add(invocation);
+          writer.write(invocation.isVerified() ? "  " : "? ");
+          writer.write(String.valueOf(invocation));
+          writer.write(" ");
+          writer.write(String.valueOf(invocation.getLocation()));
+          writer.newLine();
+        }
+      }
+
+      return "All interactions, unexpected ones marked with ?, written to " + file;
+    }
+    catch (IOException e)
+    {
+      if (tally.invocations < invocations.size())
+      {
+        tally.clear();
+        invocations.forEach(tally::add);
+      }
+
+      return "Unable to write all interactions to " + (file == null ? dumpDirectory : file) + ": " + e;
+    }
+  }
+
+  private static void print(StringBuilder message, String which, Iterable<Invocation> invocations, long number)
+  {
+    if (!invocations.iterator().hasNext())
+    {
+      return;
+    }
+
+    message.append(which).append(" unexpected interactions:\n");
+
+    for (Invocation invocation : invocations)
+    {
+      message.append(number++).append(". ").append(invocation).append("\n").append(invocation.getLocation()).append("\n");
+    }
+  }
+
+  private static final class Tally
+  {
+    private final int limit;
+    private final Map<String, long[]> byMethod = new LinkedHashMap<>();
+    private final List<Invocation> first = new ArrayList<>();
+    private final ArrayDeque<Invocation> last = new ArrayDeque<>();
+    private long invocations;
+    private long unexpected;
+
+    private Tally(int limit)
+    {
+      this.limit = limit;
+    }
+
+    private void add(Invocation invocation)
+    {
+      invocations++;
+      long[] counts = byMethod.computeIfAbsent(invocation.getMethod().getName(), method -> new long[2]);
+      counts[0]++;
+
+      if (invocation.isVerified())
+      {
+        return;
+      }
+
+      counts[1]++;
+
+      if (unexpected++ < limit)
+      {
+        first.add(invocation);
+      }
+      else if (limit > 0)
+      {
+        if (last.size() == limit)
+        {
+          last.removeFirst();
+        }
+
+        last.addLast(invocation);
+      }
+    }
+
+    private void clear()
+    {
+      byMethod.clear();
+      first.clear();
+      last.clear();
+      invocations = 0;
+      unexpected = 0;
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package org.mockito;
+
+import org.mockito.cglib.proxy.Callback;
+import org.mockito.cglib.proxy.Factory;
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.InternalMockHandler;
+import org.mockito.internal.util.MockUtil;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+@SuppressWarnings("WeakerAccess")
+public abstract class GeneratedMock implements Factory
+{
+  private static final MockUtil mockUtil = new MockUtil();
+  private static final Method toString = methods(Object.class, new String[]{"toString"}, new Class<?>[][]{{}})[0];
+
+  private Callback[] callbacks;
+  private InternalMockHandler<?> handler;
+
+  protected static Method[] methods(Class<?> type, String[] names, Class<?>[][] parameterTypes)
+  {
+    Method[] methods = new Method[names.length];
+
+    try
+    {
+      for (int i = 0; i < methods.length; i++)
+      {
+        methods[i] = type.getMethod(names[i], parameterTypes[i]);
+      }
+    }
+    catch (NoSuchMethodException e)
+    {
+      throw new MockitoException("generated mock of " + type.getName() + " is out of date", e);
+    }
+
+    return methods;
+  }
+
+  protected final Object invoke(Method method, Object[] arguments)
+  {
+    try
+    {
+      return handler.handle(JMockito.invocation(this, method, arguments, JMockito.capturesLocations(handler.getMockSettings())));
+    }
+    catch (Throwable throwable)
+    {
+      throw GeneratedMock.<RuntimeException>sneaky(throwable);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <THROWABLE extends Throwable> THROWABLE sneaky(Throwable throwable) throws THROWABLE
+  {
+    throw (THROWABLE) throwable;
+  }
+
+  @Override
+  public final boolean equals(Object object)
+  {
+    return this == object;
+  }
+
+  @Override
+  public final int hashCode()
+  {
+    return System.identityHashCode(this);
+  }
+
+  @Override
+  public final String toString()
+  {
+    return (String) invoke(toString, new Object[0]);
+  }
+
+  public final Object newInstance(Callback callback)
+  {
+    return newInstance(new Callback[]{callback});
+  }
+
+  public final Object newInstance(Callback[] callbacks)
+  {
+    try
+    {
+      Constructor<? extends GeneratedMock> constructor = getClass().getDeclaredConstructor();
+      constructor.setAccessible(true);
+      GeneratedMock mock = constructor.newInstance();
+      mock.setCallbacks(callbacks);
+      return mock;
+    }
+    catch (ReflectiveOperationException e)
+    {
+      throw new MockitoException("Unable to create mock instance of type '" + getClass().getSimpleName() + "'", e);
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  public final Object newInstance(Class[] types, Object[] arguments, Callback[] callbacks)
+  {
+    return newInstance(callbacks);
+  }
+
+  public final Callback getCallback(int index)
+  {
+    return callbacks[index];
+  }
+
+  public final void setCallback(int index, Callback callback)
+  {
+    Callback[] callbacks = this.callbacks.clone();
+    callbacks[index] = callback;
+    setCallbacks(callbacks);
+  }
+
+  public final void setCallbacks(Callback[] callbacks)
+  {
+    this.callbacks = callbacks.clone();
+    handler = mockUtil.getMockHandler(this);
+  }
+
+  public final Callback[] getCallbacks()
+  {
+    return callbacks.clone();
+  }
+}
\ No newline at end of file
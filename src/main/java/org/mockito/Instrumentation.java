@@ -0,0 +1,241 @@
+package org.mockito;
+
+import org.junit.runner.Description;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@SuppressWarnings("WeakerAccess")
+public final class Instrumentation
+{
+  private final Map<StrictAnswer, ConcurrentHashMap<Method, LongAdder>> invocations = Collections.synchronizedMap(new WeakHashMap<>());
+  private final Timer stubbingMatch = new Timer();
+  private final Timer verification = new Timer();
+  private final Listener listener;
+
+  public Instrumentation()
+  {
+    this(null);
+  }
+
+  public Instrumentation(Listener listener)
+  {
+    this.listener = listener;
+  }
+
+  public Snapshot snapshot()
+  {
+    List<MockSnapshot> mocks = new ArrayList<>();
+
+    synchronized (invocations)
+    {
+      invocations.forEach((mock, counters) -> mocks.add(new MockSnapshot(mock.name(), counters)));
+    }
+
+    return new Snapshot(mocks, stubbingMatch.timing(), verification.timing());
+  }
+
+  public void clear()
+  {
+    invocations.clear();
+    stubbingMatch.clear();
+    verification.clear();
+  }
+
+  void invoked(StrictAnswer mock, Method method, long nanos)
+  {
+    ConcurrentHashMap<Method, LongAdder> counters = invocations.computeIfAbsent(mock, key -> new ConcurrentHashMap<>());
+    LongAdder counter = counters.get(method);
+
+    if (counter == null)
+    {
+      counter = counters.computeIfAbsent(method, key -> new LongAdder());
+    }
+
+    counter.increment();
+    stubbingMatch.record(nanos);
+  }
+
+  void verified(long nanos)
+  {
+    verification.record(nanos);
+  }
+
+  void testFinished(Description description)
+  {
+    try
+    {
+      if (listener != null)
+      {
+        listener.testFinished(description, snapshot());
+      }
+    }
+    finally
+    {
+      clear();
+    }
+  }
+
+  public interface Listener
+  {
+    void testFinished(Description description, Snapshot snapshot);
+  }
+
+  public static final class Snapshot
+  {
+    private final List<MockSnapshot> mocks;
+    private final Timing stubbingMatch;
+    private final Timing verification;
+
+    private Snapshot(List<MockSnapshot> mocks, Timing stubbingMatch, Timing verification)
+    {
+      this.mocks = Collections.unmodifiableList(mocks);
+      this.stubbingMatch = stubbingMatch;
+      this.verification = verification;
+    }
+
+    public List<MockSnapshot> mocks()
+    {
+      return mocks;
+    }
+
+    public long invocations()
+    {
+      return mocks.stream().mapToLong(MockSnapshot::invocations).sum();
+    }
+
+    public Timing stubbingMatch()
+    {
+      return stubbingMatch;
+    }
+
+    public Timing verification()
+    {
+      return verification;
+    }
+  }
+
+  public static final class MockSnapshot
+  {
+    private final String name;
+    private final Map<String, Long> invocationsByMethod = new LinkedHashMap<>();
+
+    private MockSnapshot(String name, Map<Method, LongAdder> counters)
+    {
+      this.name = name;
+      counters.forEach((method, counter) -> invocationsByMethod.merge(method.getName(), counter.sum(), Long::sum));
+    }
+
+    public String name()
+    {
+      return name;
+    }
+
+    public Map<String, Long> invocationsByMethod()
+    {
+      return Collections.unmodifiableMap(invocationsByMethod);
+    }
+
+    public long invocations()
+    {
+      return invocationsByMethod.values().stream().mapToLong(Long::longValue).sum();
+    }
+  }
+
+  public static final class Timing
+  {
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    private Timing(long count, long totalNanos, long maxNanos, long[] histogram)
+    {
+      this.count = count;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+      this.histogram = histogram;
+    }
+
+    public long count()
+    {
+      return count;
+    }
+
+    public long totalNanos()
+    {
+      return totalNanos;
+    }
+
+    public long maxNanos()
+    {
+      return maxNanos;
+    }
+
+    public double meanNanos()
+    {
+      return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    public long[] histogram()
+    {
+      return histogram.clone();
+    }
+  }
+
+  private static final class Timer
+  {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] histogram = new LongAdder[Long.SIZE];
+
+    private Timer()
+    {
+      for (int i = 0; i < histogram.length; i++)
+      {
+        histogram[i] = new LongAdder();
+      }
+    }
+
+    private void record(long nanos)
+    {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      histogram[nanos <= 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos)].increment();
+    }
+
+    private Timing timing()
+    {
+      long[] buckets = new long[histogram.length];
+
+      for (int i = 0; i < buckets.length; i++)
+      {
+        buckets[i] = histogram[i].sum();
+      }
+
+      return new Timing(count.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+    }
+
+    private void clear()
+    {
+      count.reset();
+      totalNanos.reset();
+      maxNanos.reset();
+
+      for (LongAdder bucket : histogram)
+      {
+        bucket.reset();
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -1,32 +1,75 @@
 package org.mockito;
 
-import org.mockito.internal.creation.MockSettingsImpl;
+import org.mockito.cglib.proxy.Factory;
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.creation.DelegatingMethod;
+import org.mockito.internal.invocation.InvocationImpl;
+import org.mockito.internal.invocation.InvocationMatcher;
+import org.mockito.internal.invocation.realmethod.RealMethod;
+import org.mockito.internal.progress.SequenceNumber;
+import org.mockito.internal.stubbing.StubbedInvocationMatcher;
+import org.mockito.internal.stubbing.answers.DoesNothing;
+import org.mockito.internal.stubbing.answers.Returns;
+import org.mockito.internal.util.MockUtil;
+import org.mockito.invocation.Invocation;
+import org.mockito.mock.MockCreationSettings;
 import org.mockito.stubbing.Answer;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 @SuppressWarnings("WeakerAccess")
 public final class JMockito
 {
-  private static final Answer noUnexpectedInvocationsAnswer = invocationOnMock ->
+  private static final MockCache mockCache = new MockCache(256);
+  private static final MockUtil mockUtil = new MockUtil();
+  private static final Probes probes = new Probes();
+  private static final RealMethod noRealMethod = (target, arguments) ->
   {
-    throw new UnexpectedInvocationError(invocationOnMock);
+    throw new MockitoException("jmockito mocks do not call real methods");
   };
+  private static volatile Instrumentation instrumentation;
 
   public static <MOCK> MOCK mock(Class<MOCK> mockClass)
   {
-    MOCK mock = Mockito.mock(mockClass, new MockSettingsImpl().defaultAnswer(noUnexpectedInvocationsAnswer));
-    String className = mockClass.getSimpleName();
-    returnValue(className.substring(0, 1).toLowerCase() + className.substring(1)).when(mock).executes(Object::toString);
-    return mock;
+    return mockCache.mock(mockClass, null);
   }
 
   public static <MOCK> MOCK mock(Class<MOCK> mockClass, String name)
   {
-    MOCK mock = Mockito.mock(mockClass, new MockSettingsImpl().name(name).defaultAnswer(noUnexpectedInvocationsAnswer));
-    returnValue(name).when(mock).executes(Object::toString);
-    return mock;
+    return mockCache.mock(mockClass, name);
+  }
+
+  static <MOCK> MOCK mock(Class<MOCK> mockClass, String name, boolean stubOnly)
+  {
+    return mockCache.mock(mockClass, name, stubOnly);
+  }
+
+  public static <MOCK> MOCK proxy(Class<MOCK> mockClass)
+  {
+    return ProxyMock.create(mockClass, null);
+  }
+
+  public static <MOCK> MOCK proxy(Class<MOCK> mockClass, String name)
+  {
+    return ProxyMock.create(mockClass, name);
+  }
+
+  public static MockCache mockCache()
+  {
+    return mockCache;
   }
 
   public static <MOCK> When<MOCK> when(MOCK mock)
@@ -44,11 +87,223 @@ public final class JMockito
     return new Given<>(mock);
   }
 
+  public static <MOCK, VALUE> Template<MOCK, VALUE> template(Class<MOCK> mockClass, Function<? super MOCK, ? extends VALUE> function)
+  {
+    return new Template<>(mockClass, function, null);
+  }
+
   public static void reset(Object mock)
   {
-    String string = mock.toString();
-    Mockito.reset(mock);
-    returnValue(string).when(mock).executes(Object::toString);
+    if (ProxyMock.of(mock) == null)
+    {
+      Mockito.reset(mock);
+      intercept(mock);
+    }
+
+    StrictAnswer answer = strictAnswer(mock);
+
+    if (answer != null)
+    {
+      answer.reset();
+    }
+  }
+
+  static void clearInvocations(Object mock)
+  {
+    ProxyMock proxy = ProxyMock.of(mock);
+
+    if (proxy != null)
+    {
+      proxy.answer().clearThreads();
+      return;
+    }
+
+    List<StubbedInvocationMatcher> stubbings = new ArrayList<>(mockUtil.getMockHandler(mock).getInvocationContainer().getStubbedInvocations());
+    mockUtil.resetMock(mock);
+    intercept(mock);
+    mockUtil.getMockHandler(mock).getInvocationContainer().getStubbedInvocations().addAll(stubbings);
+    StrictAnswer answer = strictAnswer(mock);
+
+    if (answer != null)
+    {
+      answer.clearThreads();
+    }
+  }
+
+  private static void intercept(Object mock)
+  {
+    if (mock instanceof Factory && strictAnswer(mock) != null)
+    {
+      StrictInterceptor.install(mock);
+    }
+  }
+
+  public static void instrument(Instrumentation instrumentation)
+  {
+    JMockito.instrumentation = instrumentation;
+  }
+
+  static Instrumentation instrumentation()
+  {
+    return instrumentation;
+  }
+
+  public static void captureLocations(Object mock, boolean enabled)
+  {
+    StrictAnswer answer = strictAnswer(mock);
+
+    if (answer == null)
+    {
+      throw new MockitoException(mock + " is not a jmockito mock");
+    }
+
+    answer.captureLocations(enabled);
+  }
+
+  static boolean capturesLocations(MockCreationSettings<?> settings)
+  {
+    Answer<?> answer = settings.getDefaultAnswer();
+    return !(answer instanceof StrictAnswer) || ((StrictAnswer) answer).capturesLocations();
+  }
+
+  static Invocation invocation(Object mock, Method method, Object[] rawArguments)
+  {
+    return invocation(mock, method, rawArguments, ProxyMock.of(mock) == null && capturesLocations(mockUtil.getMockHandler(mock).getMockSettings()));
+  }
+
+  static Invocation invocation(Object mock, Method method, Object[] rawArguments, boolean captureLocation)
+  {
+    if (captureLocation)
+    {
+      return new InvocationImpl(mock, new DelegatingMethod(method), rawArguments, SequenceNumber.next(), noRealMethod);
+    }
+
+    return new LightInvocation(mock, method, rawArguments);
+  }
+
+  static <MOCK, ARGUMENT> StubbedInvocationMatcher stubEach(MOCK mock, BiFunction<? super MOCK, ARGUMENT, ?> method, Map<? extends ARGUMENT, ?> results)
+  {
+    if (results.isEmpty())
+    {
+      return null;
+    }
+
+    BatchAnswer answer = new BatchAnswer(results);
+    return stub(mock, answer, stubbing ->
+    {
+      Matchers.argThat(answer.argumentMatcher());
+      method.apply(stubbing, results.keySet().iterator().next());
+    });
+  }
+
+  static <MOCK> InvocationMatcher capture(Class<MOCK> mockClass, Consumer<? super MOCK> consumer)
+  {
+    return probes.capture(mockClass, invocation -> null, consumer);
+  }
+
+  static <MOCK> StubbedInvocationMatcher stub(MOCK mock, Answer<?> answer, Consumer<? super MOCK> consumer)
+  {
+    InvocationMatcher invocation = probes.capture(mock, answer, consumer);
+
+    if (answer instanceof TypedAnswer)
+    {
+      ((TypedAnswer) answer).check(invocation.getMethod());
+    }
+
+    StubbedInvocationMatcher stubbing = stubbing(mock, invocation, answer);
+    stub(mock, stubbing);
+    return stubbing;
+  }
+
+  static StubbedInvocationMatcher stubbing(Object mock, InvocationMatcher invocation, Answer<?> answer)
+  {
+    StrictAnswer owner = strictAnswer(mock);
+    return owner == null ? new StubbedInvocationMatcher(invocation, answer) : new Stubbing(invocation, answer, owner);
+  }
+
+  static void stub(Object mock, StubbedInvocationMatcher stubbing)
+  {
+    StrictAnswer answer = strictAnswer(mock);
+
+    if (answer != null)
+    {
+      answer.add(stubbing);
+      return;
+    }
+
+    List<StubbedInvocationMatcher> stubbings = mockUtil.getMockHandler(mock).getInvocationContainer().getStubbedInvocations();
+
+    synchronized (stubbings)
+    {
+      stubbings.add(0, stubbing);
+    }
+  }
+
+  static Recorder recorder(Object mock)
+  {
+    StrictAnswer answer = strictAnswer(mock);
+    return answer == null ? null : answer.recorder();
+  }
+
+  static StrictAnswer strictAnswer(Object mock)
+  {
+    ProxyMock proxy = ProxyMock.of(mock);
+
+    if (proxy != null)
+    {
+      return proxy.answer();
+    }
+
+    Answer<?> answer = mockUtil.getMockHandler(mock).getMockSettings().getDefaultAnswer();
+    return answer instanceof StrictAnswer ? (StrictAnswer) answer : null;
+  }
+
+  static Class<?> mockClass(Object mock)
+  {
+    ProxyMock proxy = ProxyMock.of(mock);
+    return proxy == null ? mockUtil.getMockHandler(mock).getMockSettings().getTypeToMock() : proxy.mockClass();
+  }
+
+  static Answer<Object> typed(Answer0<?> answer)
+  {
+    return invocation -> answer.answer();
+  }
+
+  @SuppressWarnings("unchecked")
+  static <A1> Answer<Object> typed(Answer1<?, A1> answer)
+  {
+    return new TypedAnswer(answer, Answer1.class, 1, invocation ->
+    {
+      Object[] arguments = ((Invocation) invocation).getRawArguments();
+      return answer.answer((A1) arguments[0]);
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  static <A1, A2> Answer<Object> typed(Answer2<?, A1, A2> answer)
+  {
+    return new TypedAnswer(answer, Answer2.class, 2, invocation ->
+    {
+      Object[] arguments = ((Invocation) invocation).getRawArguments();
+      return answer.answer((A1) arguments[0], (A2) arguments[1]);
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  static <A1, A2, A3> Answer<Object> typed(Answer3<?, A1, A2, A3> answer)
+  {
+    return new TypedAnswer(answer, Answer3.class, 3, invocation ->
+    {
+      Object[] arguments = ((Invocation) invocation).getRawArguments();
+      return answer.answer((A1) arguments[0], (A2) arguments[1], (A3) arguments[2]);
+    });
+  }
+
+  static <ARGUMENT, VALUE> Map<ARGUMENT, VALUE> toMap(Stream<? extends Map.Entry<? extends ARGUMENT, ? extends VALUE>> results)
+  {
+    HashMap<ARGUMENT, VALUE> map = new HashMap<>();
+    results.forEachOrdered(result -> map.put(result.getKey(), result.getValue()));
+    return map;
   }
 
   public static final class When<MOCK>
@@ -65,11 +320,26 @@ public final class JMockito
       return new Executes<>(function);
     }
 
+    public ExecutesInt executesInt(ToIntFunction<? super MOCK> function)
+    {
+      return new ExecutesInt(function);
+    }
+
+    public ExecutesLong executesLong(ToLongFunction<? super MOCK> function)
+    {
+      return new ExecutesLong(function);
+    }
+
     public Runs runs(Consumer<? super MOCK> consumer)
     {
       return new Runs(consumer);
     }
 
+    public <ARGUMENT, VALUE> ExecutesEach<ARGUMENT, VALUE> executesEach(BiFunction<? super MOCK, ARGUMENT, ? extends VALUE> method)
+    {
+      return new ExecutesEach<>(method);
+    }
+
     public final class Executes<VALUE>
     {
       private final Function<? super MOCK, ? extends VALUE> function;
@@ -81,7 +351,102 @@ public final class JMockito
 
       public When<MOCK> thenReturn(VALUE value)
       {
-        function.apply(Mockito.doReturn(value).when(mock));
+        stub(mock, new Returns(value), function::apply);
+        return When.this;
+      }
+
+      public When<MOCK> thenAnswer(Answer0<? extends VALUE> answer)
+      {
+        return doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1> When<MOCK> thenAnswer(Answer1<? extends VALUE, A1> answer)
+      {
+        return doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1, A2> When<MOCK> thenAnswer(Answer2<? extends VALUE, A1, A2> answer)
+      {
+        return doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1, A2, A3> When<MOCK> thenAnswer(Answer3<? extends VALUE, A1, A2, A3> answer)
+      {
+        return doAnswer(JMockito.typed(answer));
+      }
+
+      public When<MOCK> thenReturnSequence(Supplier<? extends VALUE> values)
+      {
+        return doAnswer(new SupplierAnswer(values));
+      }
+
+      private When<MOCK> doAnswer(Answer<?> answer)
+      {
+        stub(mock, answer, function::apply);
+        return When.this;
+      }
+    }
+
+    public final class ExecutesInt
+    {
+      private final ToIntFunction<? super MOCK> function;
+
+      private ExecutesInt(ToIntFunction<? super MOCK> function)
+      {
+        this.function = function;
+      }
+
+      public When<MOCK> thenReturn(int value)
+      {
+        stub(mock, new Returns(value), function::applyAsInt);
+        return When.this;
+      }
+
+      public When<MOCK> thenReturnSequence(int... values)
+      {
+        return doAnswer(SequenceAnswer.of(values));
+      }
+
+      public When<MOCK> thenReturnSequence(IntStream values)
+      {
+        return thenReturnSequence(values.toArray());
+      }
+
+      private When<MOCK> doAnswer(Answer<?> answer)
+      {
+        stub(mock, answer, function::applyAsInt);
+        return When.this;
+      }
+    }
+
+    public final class ExecutesLong
+    {
+      private final ToLongFunction<? super MOCK> function;
+
+      private ExecutesLong(ToLongFunction<? super MOCK> function)
+      {
+        this.function = function;
+      }
+
+      public When<MOCK> thenReturn(long value)
+      {
+        stub(mock, new Returns(value), function::applyAsLong);
+        return When.this;
+      }
+
+      public When<MOCK> thenReturnSequence(long... values)
+      {
+        return doAnswer(SequenceAnswer.of(values));
+      }
+
+      public When<MOCK> thenReturnSequence(LongStream values)
+      {
+        return thenReturnSequence(values.toArray());
+      }
+
+      private When<MOCK> doAnswer(Answer<?> answer)
+      {
+        stub(mock, answer, function::applyAsLong);
         return When.this;
       }
     }
@@ -97,10 +462,31 @@ public final class JMockito
 
       public When<MOCK> doNothing()
       {
-        consumer.accept(Mockito.doNothing().when(mock));
+        stub(mock, new DoesNothing(), consumer);
         return When.this;
       }
     }
+
+    public final class ExecutesEach<ARGUMENT, VALUE>
+    {
+      private final BiFunction<? super MOCK, ARGUMENT, ? extends VALUE> method;
+
+      private ExecutesEach(BiFunction<? super MOCK, ARGUMENT, ? extends VALUE> method)
+      {
+        this.method = method;
+      }
+
+      public When<MOCK> thenReturn(Map<? extends ARGUMENT, ? extends VALUE> results)
+      {
+        stubEach(mock, method, results);
+        return When.this;
+      }
+
+      public When<MOCK> thenReturn(Stream<? extends Map.Entry<? extends ARGUMENT, ? extends VALUE>> results)
+      {
+        return thenReturn(toMap(results));
+      }
+    }
   }
 
   public static final class ReturnValue<VALUE>
@@ -128,7 +514,7 @@ public final class JMockito
 
       public void executes(Function<? super MOCK, ? extends VALUE> function)
       {
-        function.apply(Mockito.doReturn(value).when(mock));
+        stub(mock, new Returns(value), function::apply);
       }
     }
   }
@@ -147,6 +533,16 @@ public final class JMockito
       return new Executing<>(function);
     }
 
+    public ExecutingInt executingInt(ToIntFunction<? super MOCK> function)
+    {
+      return new ExecutingInt(function);
+    }
+
+    public ExecutingLong executingLong(ToLongFunction<? super MOCK> function)
+    {
+      return new ExecutingLong(function);
+    }
+
     public Running running(Consumer<? super MOCK> consumer)
     {
       return new Running(consumer);
@@ -163,7 +559,97 @@ public final class JMockito
 
       public void thenReturn(VALUE value)
       {
-        function.apply(Mockito.doReturn(value).when(mock));
+        stub(mock, new Returns(value), function::apply);
+      }
+
+      public void thenAnswer(Answer0<? extends VALUE> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1> void thenAnswer(Answer1<? extends VALUE, A1> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1, A2> void thenAnswer(Answer2<? extends VALUE, A1, A2> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1, A2, A3> void thenAnswer(Answer3<? extends VALUE, A1, A2, A3> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public void thenReturnSequence(Supplier<? extends VALUE> values)
+      {
+        doAnswer(new SupplierAnswer(values));
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        stub(mock, answer, function::apply);
+      }
+    }
+
+    public final class ExecutingInt
+    {
+      private final ToIntFunction<? super MOCK> function;
+
+      private ExecutingInt(ToIntFunction<? super MOCK> function)
+      {
+        this.function = function;
+      }
+
+      public void thenReturn(int value)
+      {
+        stub(mock, new Returns(value), function::applyAsInt);
+      }
+
+      public void thenReturnSequence(int... values)
+      {
+        doAnswer(SequenceAnswer.of(values));
+      }
+
+      public void thenReturnSequence(IntStream values)
+      {
+        thenReturnSequence(values.toArray());
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        stub(mock, answer, function::applyAsInt);
+      }
+    }
+
+    public final class ExecutingLong
+    {
+      private final ToLongFunction<? super MOCK> function;
+
+      private ExecutingLong(ToLongFunction<? super MOCK> function)
+      {
+        this.function = function;
+      }
+
+      public void thenReturn(long value)
+      {
+        stub(mock, new Returns(value), function::applyAsLong);
+      }
+
+      public void thenReturnSequence(long... values)
+      {
+        doAnswer(SequenceAnswer.of(values));
+      }
+
+      public void thenReturnSequence(LongStream values)
+      {
+        thenReturnSequence(values.toArray());
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        stub(mock, answer, function::applyAsLong);
       }
     }
 
@@ -178,7 +664,7 @@ public final class JMockito
 
       public void doNothing()
       {
-        consumer.accept(Mockito.doNothing().when(mock));
+        stub(mock, new DoesNothing(), consumer);
       }
     }
   }
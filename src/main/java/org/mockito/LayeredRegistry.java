@@ -0,0 +1,53 @@
+package org.mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+final class LayeredRegistry<ELEMENT> implements Registry<ELEMENT>
+{
+  private final Registry<ELEMENT> added;
+  private volatile List<ELEMENT> restored = Collections.emptyList();
+
+  LayeredRegistry(Registry<ELEMENT> added)
+  {
+    this.added = added;
+  }
+
+  public void add(ELEMENT element)
+  {
+    added.add(element);
+  }
+
+  public void forEach(Consumer<? super ELEMENT> action)
+  {
+    restored.forEach(action);
+    added.forEach(action);
+  }
+
+  void forEachAdded(Consumer<? super ELEMENT> action)
+  {
+    added.forEach(action);
+  }
+
+  public void clear()
+  {
+    restored = Collections.emptyList();
+    added.clear();
+  }
+
+  List<ELEMENT> freeze()
+  {
+    List<ELEMENT> frozen = new ArrayList<>();
+    forEach(frozen::add);
+    restore(Collections.unmodifiableList(frozen));
+    return restored;
+  }
+
+  void restore(List<ELEMENT> elements)
+  {
+    added.clear();
+    restored = elements;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package org.mockito;
+
+import org.hamcrest.Matcher;
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.exceptions.VerificationAwareInvocation;
+import org.mockito.internal.invocation.ArgumentsProcessor;
+import org.mockito.internal.invocation.InvocationMatcher;
+import org.mockito.internal.matchers.MatchersPrinter;
+import org.mockito.internal.reporting.PrintSettings;
+import org.mockito.invocation.Invocation;
+import org.mockito.invocation.Location;
+import org.mockito.invocation.StubInfo;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class LightInvocation implements Invocation, VerificationAwareInvocation
+{
+  private static final long serialVersionUID = 5182566278188489250L;
+  private static final AtomicInteger sequenceNumbers = new AtomicInteger();
+  private static final Location notCaptured = new Location()
+  {
+    @Override
+    public String toString()
+    {
+      return "-> at <<location not captured>>";
+    }
+  };
+
+  private final Object mock;
+  private final Method method;
+  private final Object[] rawArguments;
+  private final Object[] arguments;
+  private final int sequenceNumber = sequenceNumbers.incrementAndGet();
+  private boolean verified;
+  private boolean ignoredForVerification;
+  private StubInfo stubInfo;
+
+  @SuppressWarnings("rawtypes")
+  static InvocationMatcher matcher(Invocation invocation, List<Matcher> matchers)
+  {
+    if (!(invocation instanceof LightInvocation))
+    {
+      return new InvocationMatcher(invocation, matchers);
+    }
+
+    return new InvocationMatcher(invocation, matchers)
+    {
+      private static final long serialVersionUID = 5221446025223702190L;
+
+      @Override
+      public String toString()
+      {
+        return ((LightInvocation) invocation).print(matchers);
+      }
+    };
+  }
+
+  LightInvocation(Object mock, Method method, Object[] rawArguments)
+  {
+    this.mock = mock;
+    this.method = method;
+    this.rawArguments = rawArguments;
+    arguments = ArgumentsProcessor.expandVarArgs(method.isVarArgs(), rawArguments);
+  }
+
+  public Object getMock()
+  {
+    return mock;
+  }
+
+  public Method getMethod()
+  {
+    return method;
+  }
+
+  public Object[] getArguments()
+  {
+    return arguments;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T getArgumentAt(int index, Class<T> type)
+  {
+    return (T) arguments[index];
+  }
+
+  public Object[] getRawArguments()
+  {
+    return rawArguments;
+  }
+
+  public Object callRealMethod()
+  {
+    throw new MockitoException("jmockito mocks do not call real methods");
+  }
+
+  public int getSequenceNumber()
+  {
+    return sequenceNumber;
+  }
+
+  public Location getLocation()
+  {
+    return notCaptured;
+  }
+
+  public boolean isVerified()
+  {
+    return verified || ignoredForVerification;
+  }
+
+  public void markVerified()
+  {
+    verified = true;
+  }
+
+  public StubInfo stubInfo()
+  {
+    return stubInfo;
+  }
+
+  public void markStubbed(StubInfo stubInfo)
+  {
+    this.stubInfo = stubInfo;
+  }
+
+  public boolean isIgnoredForVerification()
+  {
+    return ignoredForVerification;
+  }
+
+  public void ignoreForVerification()
+  {
+    ignoredForVerification = true;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private String print(List<Matcher> matchers)
+  {
+    ProxyMock proxy = ProxyMock.of(mock);
+
+    if (proxy == null)
+    {
+      return new PrintSettings().print(matchers, this);
+    }
+
+    return proxy.answer().name() + "." + method.getName() + new MatchersPrinter().getArgumentsLine(matchers, new PrintSettings());
+  }
+
+  @Override
+  public String toString()
+  {
+    return print(ArgumentsProcessor.argumentsToMatchers(arguments));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.mockito;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+final class ListRegistry<ELEMENT> implements Registry<ELEMENT>
+{
+  private final ArrayList<ELEMENT> elements = new ArrayList<>();
+
+  public void add(ELEMENT element)
+  {
+    elements.add(element);
+  }
+
+  public void forEach(Consumer<? super ELEMENT> action)
+  {
+    elements.forEach(action);
+  }
+
+  public void clear()
+  {
+    elements.clear();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,213 @@
+package org.mockito;
+
+import org.mockito.cglib.proxy.Callback;
+import org.mockito.cglib.proxy.Factory;
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.InternalMockHandler;
+import org.mockito.internal.creation.MockSettingsImpl;
+import org.mockito.internal.creation.instance.InstantationException;
+import org.mockito.internal.creation.instance.Instantiator;
+import org.mockito.internal.creation.instance.InstantiatorProvider;
+import org.mockito.internal.creation.settings.CreationSettings;
+import org.mockito.internal.handler.MockHandlerFactory;
+import org.mockito.internal.progress.MockingProgress;
+import org.mockito.internal.progress.ThreadSafeMockingProgress;
+import org.mockito.internal.util.MockNameImpl;
+import org.mockito.internal.util.MockUtil;
+import org.mockito.mock.MockCreationSettings;
+import org.mockito.mock.MockName;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+@SuppressWarnings("WeakerAccess")
+public final class MockCache
+{
+  private static final MockingProgress mockingProgress = new ThreadSafeMockingProgress();
+  private static final MockUtil mockUtil = new MockUtil();
+
+  private final ConcurrentHashMap<Class<?>, Entry<?>> entries = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Class<?>> insertions = new ConcurrentLinkedQueue<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final int capacity;
+
+  MockCache(int capacity)
+  {
+    this.capacity = capacity;
+  }
+
+  <MOCK> MOCK mock(Class<MOCK> mockClass, String name)
+  {
+    return mock(mockClass, name, false);
+  }
+
+  @SuppressWarnings("unchecked")
+  <MOCK> MOCK mock(Class<MOCK> mockClass, String name, boolean stubOnly)
+  {
+    Entry<MOCK> entry = (Entry<MOCK>) entries.get(mockClass);
+
+    if (entry != null)
+    {
+      hits.increment();
+      return entry.mock(name, stubOnly);
+    }
+
+    misses.increment();
+    MockName defaultName = new MockNameImpl(null, mockClass);
+    String answerName = name == null ? defaultName.toString() : name;
+    MockSettingsImpl<MOCK> settings = new MockSettingsImpl<>();
+    settings.name(name).defaultAnswer(new StrictAnswer(answerName));
+
+    if (stubOnly)
+    {
+      settings.stubOnly();
+    }
+
+    MOCK mock = generated(mockClass, settings);
+
+    if (mock == null)
+    {
+      mock = Mockito.mock(mockClass, settings);
+
+      if (mock instanceof Factory)
+      {
+        StrictInterceptor.install(mock);
+      }
+    }
+
+    cache(mockClass, new Entry<>(mock.getClass(), mock instanceof Factory ? ((Factory) mock).getCallbacks() : null, (CreationSettings<MOCK>) mockUtil.getMockHandler(mock).getMockSettings(), defaultName));
+    return mock;
+  }
+
+  public long hits()
+  {
+    return hits.sum();
+  }
+
+  public long misses()
+  {
+    return misses.sum();
+  }
+
+  public int size()
+  {
+    return entries.size();
+  }
+
+  public int capacity()
+  {
+    return capacity;
+  }
+
+  public void clear()
+  {
+    entries.clear();
+    insertions.clear();
+  }
+
+  private static <MOCK> MOCK generated(Class<MOCK> mockClass, MockSettingsImpl<MOCK> settings)
+  {
+    if (!mockClass.isInterface())
+    {
+      return null;
+    }
+
+    Class<?> generatedClass;
+
+    try
+    {
+      generatedClass = Class.forName(mockClass.getName() + MockProcessor.SUFFIX, true, mockClass.getClassLoader());
+    }
+    catch (ClassNotFoundException e)
+    {
+      return null;
+    }
+
+    MockCreationSettings<MOCK> creationSettings = settings.confirm(mockClass);
+    InternalMockHandler<?> handler = new MockHandlerFactory().create(creationSettings);
+
+    try
+    {
+      GeneratedMock mock = (GeneratedMock) generatedClass.getConstructor().newInstance();
+      mock.setCallbacks(new Callback[]{new StrictInterceptor(handler, creationSettings)});
+      mockingProgress.mockingStarted(mock, mockClass);
+      return mockClass.cast(mock);
+    }
+    catch (ReflectiveOperationException e)
+    {
+      throw new MockitoException("Unable to create mock instance of type '" + mockClass.getSimpleName() + "'", e);
+    }
+  }
+
+  private void cache(Class<?> mockClass, Entry<?> entry)
+  {
+    while (entries.size() >= capacity)
+    {
+      Class<?> eldest = insertions.poll();
+
+      if (eldest == null)
+      {
+        break;
+      }
+
+      entries.remove(eldest);
+    }
+
+    if (entries.putIfAbsent(mockClass, entry) == null)
+    {
+      insertions.offer(mockClass);
+    }
+  }
+
+  private static final class Entry<MOCK>
+  {
+    private final CreationSettings<MOCK> prototype;
+    private final MockName defaultName;
+    private final Class<?> proxyClass;
+    private final Callback[] callbacks;
+    private final Instantiator instantiator;
+
+    private Entry(Class<?> proxyClass, Callback[] callbacks, CreationSettings<MOCK> settings, MockName defaultName)
+    {
+      prototype = new StrictMockSettings<>(settings, defaultName, null, false);
+      this.defaultName = defaultName;
+      this.proxyClass = proxyClass;
+      this.callbacks = callbacks == null ? null : callbacks.clone();
+      instantiator = new InstantiatorProvider().getInstantiator(prototype);
+
+      if (callbacks != null)
+      {
+        this.callbacks[0] = null;
+      }
+    }
+
+    private MOCK mock(String name, boolean stubOnly)
+    {
+      MockName mockName = name == null ? defaultName : new MockNameImpl(name);
+      CreationSettings<MOCK> settings = new StrictMockSettings<>(prototype, mockName, new StrictAnswer(mockName.toString()), stubOnly);
+      MOCK mock = callbacks == null ? mockUtil.createMock(settings) : instantiate(settings);
+      mockingProgress.mockingStarted(mock, prototype.getTypeToMock());
+      return mock;
+    }
+
+    private MOCK instantiate(MockCreationSettings<MOCK> settings)
+    {
+      InternalMockHandler<?> handler = new MockHandlerFactory().create(settings);
+
+      try
+      {
+        Factory proxy = (Factory) instantiator.newInstance(proxyClass);
+        Callback[] proxyCallbacks = callbacks.clone();
+        proxyCallbacks[0] = new StrictInterceptor(handler, settings);
+        proxy.setCallbacks(proxyCallbacks);
+        return settings.getTypeToMock().cast(proxy);
+      }
+      catch (InstantationException e)
+      {
+        throw new MockitoException("Unable to create mock instance of type '" + settings.getTypeToMock().getSimpleName() + "'", e);
+      }
+    }
+  }
+}
\ No newline at end of file
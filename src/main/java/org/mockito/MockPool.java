@@ -0,0 +1,206 @@
+package org.mockito;
+
+import org.mockito.internal.util.MockUtil;
+import org.mockito.mock.MockCreationSettings;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@SuppressWarnings("WeakerAccess")
+public final class MockPool
+{
+  private static final MockUtil mockUtil = new MockUtil();
+
+  private final ConcurrentHashMap<Key, ConcurrentLinkedDeque<Idle>> idle = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedDeque<Idle> released = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicInteger stale = new AtomicInteger();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final int capacity;
+
+  public MockPool(int capacity)
+  {
+    this.capacity = capacity;
+  }
+
+  <MOCK> MOCK acquire(Class<MOCK> mockClass, String name)
+  {
+    return acquire(mockClass, name, false);
+  }
+
+  <MOCK> MOCK acquire(Class<MOCK> mockClass, String name, boolean stubOnly)
+  {
+    ConcurrentLinkedDeque<Idle> mocks = idle.get(new Key(mockClass, name, stubOnly));
+    Idle entry;
+
+    while (mocks != null && (entry = mocks.pollLast()) != null)
+    {
+      if (entry.take())
+      {
+        size.decrementAndGet();
+
+        if (stale.incrementAndGet() > capacity)
+        {
+          purge();
+        }
+
+        hits.increment();
+        return mockClass.cast(entry.mock);
+      }
+    }
+
+    misses.increment();
+    return JMockito.mock(mockClass, name, stubOnly);
+  }
+
+  void release(Object mock)
+  {
+    if (ProxyMock.of(mock) != null)
+    {
+      return;
+    }
+
+    JMockito.reset(mock);
+
+    if (capacity == 0)
+    {
+      evictions.increment();
+      return;
+    }
+
+    Idle entry = new Idle(keyOf(mock), mock);
+    idle.computeIfAbsent(entry.key, key -> new ConcurrentLinkedDeque<>()).addLast(entry);
+    released.addLast(entry);
+
+    if (size.incrementAndGet() > capacity)
+    {
+      evict();
+    }
+  }
+
+  private void evict()
+  {
+    while (size.get() > capacity)
+    {
+      Idle eldest = released.pollFirst();
+
+      if (eldest == null)
+      {
+        return;
+      }
+
+      if (eldest.take())
+      {
+        idle.get(eldest.key).removeFirstOccurrence(eldest);
+        size.decrementAndGet();
+        evictions.increment();
+      }
+    }
+  }
+
+  private void purge()
+  {
+    stale.set(0);
+    released.removeIf(Idle::taken);
+  }
+
+  private static Key keyOf(Object mock)
+  {
+    MockCreationSettings<?> settings = mockUtil.getMockHandler(mock).getMockSettings();
+    return new Key(settings.getTypeToMock(), settings.getMockName().isDefault() ? null : settings.getMockName().toString(), settings.isStubOnly());
+  }
+
+  public long hits()
+  {
+    return hits.sum();
+  }
+
+  public long misses()
+  {
+    return misses.sum();
+  }
+
+  public long evictions()
+  {
+    return evictions.sum();
+  }
+
+  public int size()
+  {
+    return size.get();
+  }
+
+  public int capacity()
+  {
+    return capacity;
+  }
+
+  public void clear()
+  {
+    idle.clear();
+    released.clear();
+    size.set(0);
+    stale.set(0);
+  }
+
+  private static final class Idle
+  {
+    private final Key key;
+    private final Object mock;
+    private final AtomicBoolean taken = new AtomicBoolean();
+
+    private Idle(Key key, Object mock)
+    {
+      this.key = key;
+      this.mock = mock;
+    }
+
+    private boolean take()
+    {
+      return taken.compareAndSet(false, true);
+    }
+
+    private boolean taken()
+    {
+      return taken.get();
+    }
+  }
+
+  private static final class Key
+  {
+    private final Class<?> mockClass;
+    private final String name;
+    private final boolean stubOnly;
+
+    private Key(Class<?> mockClass, String name, boolean stubOnly)
+    {
+      this.mockClass = mockClass;
+      this.name = name;
+      this.stubOnly = stubOnly;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+      if (!(object instanceof Key))
+      {
+        return false;
+      }
+
+      Key key = (Key) object;
+      return mockClass == key.mockClass && Objects.equals(name, key.name) && stubOnly == key.stubOnly;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return 31 * (31 * mockClass.hashCode() + Objects.hashCode(name)) + Boolean.hashCode(stubOnly);
+    }
+  }
+}
\ No newline at end of file
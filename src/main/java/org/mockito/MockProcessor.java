@@ -0,0 +1,242 @@
+package org.mockito;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@SuppressWarnings("WeakerAccess")
+public final class MockProcessor extends AbstractProcessor
+{
+  static final String SUFFIX = "$$JMockito";
+
+  private final Set<String> generated = new HashSet<>();
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes()
+  {
+    return Collections.singleton(GenerateMocks.class.getName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion()
+  {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment)
+  {
+    for (TypeElement annotation : annotations)
+    {
+      for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation))
+      {
+        for (TypeElement type : mockedTypes(element, annotation))
+        {
+          if (type.getKind() != ElementKind.INTERFACE || type.getModifiers().contains(Modifier.PRIVATE))
+          {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "only accessible interfaces may be generated, not " + type, element);
+          }
+          else if (generated.add(type.getQualifiedName().toString()))
+          {
+            generate(type, element);
+          }
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private List<TypeElement> mockedTypes(Element element, TypeElement annotation)
+  {
+    List<TypeElement> types = new ArrayList<>();
+
+    for (AnnotationMirror mirror : element.getAnnotationMirrors())
+    {
+      if (mirror.getAnnotationType().asElement().equals(annotation))
+      {
+        mirror.getElementValues().values().forEach(value -> classes(value).forEach(type -> types.add((TypeElement) ((DeclaredType) type).asElement())));
+      }
+    }
+
+    return types;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<TypeMirror> classes(AnnotationValue value)
+  {
+    return ((List<? extends AnnotationValue>) value.getValue()).stream().map(element -> (TypeMirror) element.getValue()).collect(Collectors.toList());
+  }
+
+  private void generate(TypeElement type, Element origin)
+  {
+    String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+    String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+    List<ExecutableElement> methods = methods(type);
+    StringBuilder source = new StringBuilder();
+
+    if (!packageName.isEmpty())
+    {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+
+    source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+    source.append("public final class ").append(className).append(typeParameters(type.getTypeParameters()));
+    source.append(" extends ").append(GeneratedMock.class.getName()).append(" implements ").append(type.getQualifiedName()).append(typeArguments(type.getTypeParameters())).append("\n{\n");
+    source.append("  private static final java.lang.reflect.Method[] methods = methods(").append(type.getQualifiedName()).append(".class, new String[]{");
+    source.append(methods.stream().map(method -> "\"" + method.getSimpleName() + "\"").collect(Collectors.joining(", "))).append("}, new Class<?>[][]{");
+    source.append(methods.stream().map(method -> "{" + method.getParameters().stream().map(parameter -> processingEnv.getTypeUtils().erasure(parameter.asType()) + ".class").collect(Collectors.joining(", ")) + "}").collect(Collectors.joining(", "))).append("});\n");
+
+    for (int i = 0; i < methods.size(); i++)
+    {
+      method(source, type, methods.get(i), i);
+    }
+
+    source.append("}\n");
+
+    try (Writer writer = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, origin).openWriter())
+    {
+      writer.write(source.toString());
+    }
+    catch (IOException e)
+    {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "unable to generate mock of " + type + ": " + e.getMessage(), origin);
+    }
+  }
+
+  private List<ExecutableElement> methods(TypeElement type)
+  {
+    List<ExecutableElement> methods = new ArrayList<>();
+
+    for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type)))
+    {
+      Set<Modifier> modifiers = method.getModifiers();
+
+      if (method.getEnclosingElement().getKind() == ElementKind.INTERFACE && !modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.PRIVATE) && !isObjectMethod(method))
+      {
+        methods.add(method);
+      }
+    }
+
+    return methods;
+  }
+
+  private boolean isObjectMethod(ExecutableElement method)
+  {
+    String name = method.getSimpleName().toString();
+    List<? extends VariableElement> parameters = method.getParameters();
+
+    if (parameters.isEmpty())
+    {
+      return name.equals("hashCode") || name.equals("toString");
+    }
+
+    return name.equals("equals") && parameters.size() == 1 && processingEnv.getTypeUtils().erasure(parameters.get(0).asType()).toString().equals(Object.class.getName());
+  }
+
+  private void method(StringBuilder source, TypeElement type, ExecutableElement method, int index)
+  {
+    ExecutableType executable = (ExecutableType) processingEnv.getTypeUtils().asMemberOf((DeclaredType) type.asType(), method);
+    List<? extends VariableElement> parameters = method.getParameters();
+    List<? extends TypeMirror> parameterTypes = executable.getParameterTypes();
+    List<String> declarations = new ArrayList<>(parameters.size());
+    List<String> arguments = new ArrayList<>(parameters.size());
+
+    for (int i = 0; i < parameters.size(); i++)
+    {
+      String parameterType = parameterTypes.get(i).toString();
+
+      if (method.isVarArgs() && i == parameters.size() - 1)
+      {
+        parameterType = parameterType.substring(0, parameterType.length() - 2) + "...";
+      }
+
+      declarations.add(parameterType + " a" + i);
+      arguments.add("a" + i);
+    }
+
+    TypeMirror returnType = executable.getReturnType();
+    source.append("\n  public ").append(method.getTypeParameters().isEmpty() ? "" : typeParameters(method.getTypeParameters()) + " ");
+    source.append(returnType).append(" ").append(method.getSimpleName()).append("(").append(String.join(", ", declarations)).append(")");
+
+    if (!executable.getThrownTypes().isEmpty())
+    {
+      source.append(" throws ").append(executable.getThrownTypes().stream().map(TypeMirror::toString).collect(Collectors.joining(", ")));
+    }
+
+    source.append("\n  {\n");
+    String invocation = "invoke(methods[" + index + "], new Object[]{" + String.join(", ", arguments) + "})";
+
+    if (returnType.getKind() == TypeKind.VOID)
+    {
+      source.append("    ").append(invocation).append(";\n");
+    }
+    else if (returnType.getKind().isPrimitive())
+    {
+      source.append("    Object result = ").append(invocation).append(";\n");
+      source.append("    return result == null ? ").append(defaultValue(returnType.getKind())).append(" : (").append(returnType).append(") result;\n");
+    }
+    else
+    {
+      source.append("    return (").append(returnType).append(") ").append(invocation).append(";\n");
+    }
+
+    source.append("  }\n");
+  }
+
+  private static String defaultValue(TypeKind kind)
+  {
+    switch (kind)
+    {
+      case BOOLEAN:
+        return "false";
+      case CHAR:
+        return "'\\0'";
+      default:
+        return "0";
+    }
+  }
+
+  private static String typeParameters(List<? extends TypeParameterElement> typeParameters)
+  {
+    if (typeParameters.isEmpty())
+    {
+      return "";
+    }
+
+    return typeParameters.stream().map(typeParameter ->
+    {
+      List<String> bounds = typeParameter.getBounds().stream().map(TypeMirror::toString).filter(bound -> !bound.equals(Object.class.getName())).collect(Collectors.toList());
+      return typeParameter.getSimpleName() + (bounds.isEmpty() ? "" : " extends " + String.join(" & ", bounds));
+    }).collect(Collectors.joining(", ", "<", ">"));
+  }
+
+  private static String typeArguments(List<? extends TypeParameterElement> typeParameters)
+  {
+    return typeParameters.isEmpty() ? "" : typeParameters.stream().map(typeParameter -> typeParameter.getSimpleName().toString()).collect(Collectors.joining(", ", "<", ">"));
+  }
+}
\ No newline at end of file
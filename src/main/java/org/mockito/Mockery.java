@@ -4,16 +4,61 @@ import org.junit.rules.TestRule;
 import org.junit.runner.Description;
 import org.junit.runners.model.Statement;
 import org.mockito.exceptions.verification.NeverWantedButInvoked;
+import org.mockito.internal.stubbing.StubbedInvocationMatcher;
+import org.mockito.internal.stubbing.answers.DoesNothing;
+import org.mockito.internal.stubbing.answers.Returns;
+import org.mockito.stubbing.Answer;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 @SuppressWarnings("WeakerAccess")
 public class Mockery implements TestRule
 {
-  private final ArrayList<Verification> verifications = new ArrayList<>();
-  private final ArrayList<Object> mocks = new ArrayList<>();
+  private final Scope classScope;
+  private final Scope testScope;
+  private final IdentityHashMap<Object, StubIndex> classStubs = new IdentityHashMap<>();
+  private volatile boolean evaluating;
+  private Verifier verifier = new Verifier(null, null);
+  private MockPool pool;
+  private Instrumentation instrumentation;
+  private boolean recordHitsOnly;
+  private boolean proxies;
+  private boolean skipLocations;
+  private boolean verifySequencesConsumed;
+  private final boolean trackThreads;
+
+  public Mockery()
+  {
+    this(ListRegistry::new);
+  }
+
+  Mockery(Registry.Factory registries)
+  {
+    this(registries, false, false);
+  }
+
+  Mockery(Registry.Factory registries, boolean trackThreads, boolean recordHitsOnly)
+  {
+    classScope = new Scope(registries);
+    testScope = new Scope(registries);
+    this.trackThreads = trackThreads;
+    this.recordHitsOnly = recordHitsOnly;
+  }
 
   public final Statement apply(Statement statement, Description description)
   {
@@ -21,50 +66,149 @@ public class Mockery implements TestRule
     {
       public void evaluate() throws Throwable
       {
-        verifications.clear();
+        started();
+        boolean passed = false;
 
         try
         {
-          statement.evaluate();
+          try
+          {
+            statement.evaluate();
+          }
+          catch (UnexpectedInvocationError e)
+          {
+            throw new NeverWantedButInvoked(e.getMessage());
+          }
+
+          passed = true;
         }
-        catch (UnexpectedInvocationError e)
+        finally
         {
-          throw new NeverWantedButInvoked(e.getMessage());
+          finished(description, passed);
         }
-
-        verifications.forEach(Verification::verify);
-        mocks.forEach(Mockito::verifyNoMoreInteractions);
       }
     };
   }
 
+  void started()
+  {
+    testScope.clear();
+    classScope.mocks.forEach(mock -> freeze(mock, classStubs));
+    evaluating = true;
+  }
+
+  void finished(Description description, boolean verify) throws Throwable
+  {
+    try
+    {
+      if (verify)
+      {
+        verify();
+      }
+    }
+    finally
+    {
+      evaluating = false;
+      release();
+
+      if (instrumentation != null)
+      {
+        instrumentation.testFinished(description);
+      }
+    }
+  }
+
+  public Mockery verifyInParallel()
+  {
+    return verifyInParallel(ForkJoinPool.commonPool());
+  }
+
+  public Mockery verifyInParallel(ForkJoinPool pool)
+  {
+    verifier = new Verifier(pool, verifier.report());
+    return this;
+  }
+
+  public Mockery reportAtMost(int invocations)
+  {
+    return reportAtMost(invocations, null);
+  }
+
+  public Mockery reportAtMost(int invocations, Path dumpDirectory)
+  {
+    verifier = new Verifier(verifier.pool(), new FailureReport(invocations, dumpDirectory));
+    return this;
+  }
+
+  public Mockery usePool(MockPool pool)
+  {
+    this.pool = pool;
+    return this;
+  }
+
+  public Mockery recordHitsOnly()
+  {
+    recordHitsOnly = true;
+    return this;
+  }
+
+  public Mockery useProxies()
+  {
+    proxies = true;
+    return this;
+  }
+
+  public Mockery skipLocations()
+  {
+    skipLocations = true;
+    return this;
+  }
+
+  public Mockery verifySequencesConsumed()
+  {
+    verifySequencesConsumed = true;
+    return this;
+  }
+
+  public Mockery instrument(Instrumentation instrumentation)
+  {
+    this.instrumentation = instrumentation;
+    return this;
+  }
+
   public <MOCK> MOCK mock(Class<MOCK> mockClass)
   {
-    MOCK mock = JMockito.mock(mockClass);
-    mocks.add(mock);
-    return mock;
+    return register(create(mockClass, null), scope());
   }
 
   public <MOCK> MOCK mock(Class<MOCK> mockClass, String name)
   {
-    MOCK mock = JMockito.mock(mockClass, name);
-    mocks.add(mock);
-    return mock;
+    return register(create(mockClass, name), scope());
+  }
+
+  public <MOCK> MOCK classMock(Class<MOCK> mockClass)
+  {
+    return register(create(mockClass, null), classScope);
+  }
+
+  public <MOCK> MOCK classMock(Class<MOCK> mockClass, String name)
+  {
+    return register(create(mockClass, name), classScope);
   }
 
   public <MOCK> When<MOCK> when(MOCK mock)
   {
-    return new When<>(mock, verifications);
+    return new When<>(mock, this);
   }
 
   public <VALUE> ReturnValue<VALUE> returnValue(VALUE value)
   {
-    return new ReturnValue<>(value, verifications);
+    return new ReturnValue<>(value, this);
   }
 
   public DoNothing doNothing()
   {
-    return new DoNothing(verifications);
+    return new DoNothing(this);
   }
 
   public <MOCK> Given<MOCK> given(MOCK mock)
@@ -72,20 +216,221 @@ public class Mockery implements TestRule
     return new Given<>(mock);
   }
 
+  public <MOCK, VALUE> Template<MOCK, VALUE> template(Class<MOCK> mockClass, Function<? super MOCK, ? extends VALUE> function)
+  {
+    return new Template<>(mockClass, function, this);
+  }
+
+  public Snapshot snapshot()
+  {
+    Scope scope = scope();
+    List<Object> mocks = scope.mocks.freeze();
+    List<Expectation> expectations = scope.expectations.freeze();
+    IdentityHashMap<Object, StubIndex> stubs = new IdentityHashMap<>();
+    List<SequenceAnswer> sequences = new ArrayList<>();
+    mocks.forEach(mock -> freeze(mock, stubs));
+
+    for (Expectation expectation : expectations)
+    {
+      freeze(expectation.mock(), stubs);
+
+      if (expectation.stubbing() instanceof Stubbing && ((Stubbing) expectation.stubbing()).stubbedAnswer() instanceof SequenceAnswer)
+      {
+        sequences.add((SequenceAnswer) ((Stubbing) expectation.stubbing()).stubbedAnswer());
+      }
+    }
+
+    return new Snapshot(mocks, expectations, stubs, sequences);
+  }
+
+  public void restore(Snapshot snapshot)
+  {
+    Scope scope = scope();
+    snapshot.stubs.forEach((mock, frozen) -> JMockito.strictAnswer(mock).restore(frozen));
+    snapshot.mocks.forEach(JMockito::clearInvocations);
+    snapshot.sequences.forEach(SequenceAnswer::rewind);
+
+    if (recordHitsOnly || proxies)
+    {
+      snapshot.mocks.forEach(Mockery::clearRecorder);
+      snapshot.expectations.forEach(Mockery::record);
+    }
+
+    scope.mocks.restore(snapshot.mocks);
+    scope.expectations.restore(snapshot.expectations);
+  }
+
   public void reset()
   {
-    mocks.forEach(JMockito::reset);
+    classScope.mocks.forEach(JMockito::reset);
+    testScope.mocks.forEach(JMockito::reset);
+
+    if (evaluating)
+    {
+      classStubs.clear();
+      classScope.mocks.forEach(mock -> freeze(mock, classStubs));
+    }
+  }
+
+  private <MOCK> MOCK create(Class<MOCK> mockClass, String name)
+  {
+    boolean proxy = proxies && mockClass.isInterface();
+    MOCK mock = proxy ? JMockito.proxy(mockClass, name) : pool == null ? JMockito.mock(mockClass, name, recordHitsOnly) : pool.acquire(mockClass, name, recordHitsOnly);
+    StrictAnswer answer = JMockito.strictAnswer(mock);
+
+    if (answer != null)
+    {
+      answer.record(recordHitsOnly || proxy);
+      answer.trackThreads(trackThreads);
+      answer.captureLocations(!skipLocations);
+      answer.instrument(instrumentation);
+    }
+
+    return mock;
+  }
+
+  private static void clearRecorder(Object mock)
+  {
+    Recorder recorder = JMockito.recorder(mock);
+
+    if (recorder != null)
+    {
+      recorder.clear();
+    }
+  }
+
+  private static void freeze(Object mock, IdentityHashMap<Object, StubIndex> stubs)
+  {
+    StrictAnswer answer = JMockito.strictAnswer(mock);
+
+    if (answer != null && !stubs.containsKey(mock))
+    {
+      stubs.put(mock, answer.freeze());
+    }
+  }
+
+  private static <MOCK> MOCK register(MOCK mock, Scope scope)
+  {
+    scope.mocks.add(mock);
+    return mock;
+  }
+
+  private Scope scope()
+  {
+    return evaluating ? testScope : classScope;
+  }
+
+  private void expect(Object mock, StubbedInvocationMatcher stubbing)
+  {
+    expect(Expectation.of(mock, stubbing));
+  }
+
+  private void expect(Object mock, StubbedInvocationMatcher stubbing, Answer<?> answer)
+  {
+    if (answer instanceof SequenceAnswer)
+    {
+      int length = ((SequenceAnswer) answer).length();
+      expect(Expectation.of(mock, stubbing).atLeast(verifySequencesConsumed ? length : 1).atMost(length));
+    }
+    else if (answer instanceof SupplierAnswer)
+    {
+      expect(Expectation.of(mock, stubbing).atLeast(1));
+    }
+    else
+    {
+      expect(mock, stubbing);
+    }
+  }
+
+  private void expectEach(Object mock, StubbedInvocationMatcher stubbing, Collection<?> arguments)
+  {
+    if (stubbing != null)
+    {
+      Expectation.of(mock, stubbing, arguments).forEach(this::expect);
+    }
+  }
+
+  void expect(Expectation expectation)
+  {
+    scope().expectations.add(expectation);
+    record(expectation);
+  }
+
+  private static void record(Expectation expectation)
+  {
+    Recorder recorder = JMockito.recorder(expectation.mock());
+
+    if (recorder != null)
+    {
+      recorder.expect(expectation);
+    }
+  }
+
+  private void verify() throws Throwable
+  {
+    if (instrumentation == null)
+    {
+      verifier.verify(classScope, testScope);
+      return;
+    }
+
+    long start = System.nanoTime();
+
+    try
+    {
+      verifier.verify(classScope, testScope);
+    }
+    finally
+    {
+      instrumentation.verified(System.nanoTime() - start);
+    }
+  }
+
+  private void release()
+  {
+    classStubs.forEach((mock, frozen) -> JMockito.strictAnswer(mock).drop(frozen));
+    classStubs.clear();
+    classScope.mocks.forEach(JMockito::clearInvocations);
+
+    if (recordHitsOnly || proxies)
+    {
+      classScope.mocks.forEach(Mockery::clearRecorder);
+      classScope.expectations.forEach(Mockery::record);
+    }
+
+    if (pool != null)
+    {
+      testScope.mocks.forEachAdded(pool::release);
+    }
+
+    testScope.clear();
+  }
+
+  public static final class Snapshot
+  {
+    private final List<Object> mocks;
+    private final List<Expectation> expectations;
+    private final IdentityHashMap<Object, StubIndex> stubs;
+    private final List<SequenceAnswer> sequences;
+
+    private Snapshot(List<Object> mocks, List<Expectation> expectations, IdentityHashMap<Object, StubIndex> stubs, List<SequenceAnswer> sequences)
+    {
+      this.mocks = mocks;
+      this.expectations = expectations;
+      this.stubs = stubs;
+      this.sequences = sequences;
+    }
   }
 
   public static final class When<MOCK>
   {
     private final MOCK mock;
-    private final ArrayList<Verification> verifications;
+    private final Mockery mockery;
 
-    private When(MOCK mock, ArrayList<Verification> verifications)
+    private When(MOCK mock, Mockery mockery)
     {
       this.mock = mock;
-      this.verifications = verifications;
+      this.mockery = mockery;
     }
 
     public <VALUE> Executes<VALUE> executes(Function<? super MOCK, ? extends VALUE> function)
@@ -93,11 +438,26 @@ public class Mockery implements TestRule
       return new Executes<>(function);
     }
 
+    public ExecutesInt executesInt(ToIntFunction<? super MOCK> function)
+    {
+      return new ExecutesInt(function);
+    }
+
+    public ExecutesLong executesLong(ToLongFunction<? super MOCK> function)
+    {
+      return new ExecutesLong(function);
+    }
+
     public Runs runs(Consumer<? super MOCK> consumer)
     {
       return new Runs(consumer);
     }
 
+    public <ARGUMENT, VALUE> ExecutesEach<ARGUMENT, VALUE> executesEach(BiFunction<? super MOCK, ARGUMENT, ? extends VALUE> method)
+    {
+      return new ExecutesEach<>(method);
+    }
+
     public final class Executes<VALUE>
     {
       private final Function<? super MOCK, ? extends VALUE> function;
@@ -109,8 +469,97 @@ public class Mockery implements TestRule
 
       public void thenReturn(VALUE value)
       {
-        function.apply(Mockito.doReturn(value).when(mock));
-        verifications.add(() -> function.apply(Mockito.verify(mock)));
+        mockery.expect(mock, JMockito.stub(mock, new Returns(value), function::apply));
+      }
+
+      public void thenAnswer(Answer0<? extends VALUE> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1> void thenAnswer(Answer1<? extends VALUE, A1> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1, A2> void thenAnswer(Answer2<? extends VALUE, A1, A2> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1, A2, A3> void thenAnswer(Answer3<? extends VALUE, A1, A2, A3> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public void thenReturnSequence(Supplier<? extends VALUE> values)
+      {
+        doAnswer(new SupplierAnswer(values));
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        mockery.expect(mock, JMockito.stub(mock, answer, function::apply), answer);
+      }
+    }
+
+    public final class ExecutesInt
+    {
+      private final ToIntFunction<? super MOCK> function;
+
+      private ExecutesInt(ToIntFunction<? super MOCK> function)
+      {
+        this.function = function;
+      }
+
+      public void thenReturn(int value)
+      {
+        mockery.expect(mock, JMockito.stub(mock, new Returns(value), function::applyAsInt));
+      }
+
+      public void thenReturnSequence(int... values)
+      {
+        doAnswer(SequenceAnswer.of(values));
+      }
+
+      public void thenReturnSequence(IntStream values)
+      {
+        thenReturnSequence(values.toArray());
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        mockery.expect(mock, JMockito.stub(mock, answer, function::applyAsInt), answer);
+      }
+    }
+
+    public final class ExecutesLong
+    {
+      private final ToLongFunction<? super MOCK> function;
+
+      private ExecutesLong(ToLongFunction<? super MOCK> function)
+      {
+        this.function = function;
+      }
+
+      public void thenReturn(long value)
+      {
+        mockery.expect(mock, JMockito.stub(mock, new Returns(value), function::applyAsLong));
+      }
+
+      public void thenReturnSequence(long... values)
+      {
+        doAnswer(SequenceAnswer.of(values));
+      }
+
+      public void thenReturnSequence(LongStream values)
+      {
+        thenReturnSequence(values.toArray());
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        mockery.expect(mock, JMockito.stub(mock, answer, function::applyAsLong), answer);
       }
     }
 
@@ -125,8 +574,27 @@ public class Mockery implements TestRule
 
       public void doNothing()
       {
-        consumer.accept(Mockito.doNothing().when(mock));
-        verifications.add(() -> consumer.accept(Mockito.verify(mock)));
+        mockery.expect(mock, JMockito.stub(mock, new DoesNothing(), consumer));
+      }
+    }
+
+    public final class ExecutesEach<ARGUMENT, VALUE>
+    {
+      private final BiFunction<? super MOCK, ARGUMENT, ? extends VALUE> method;
+
+      private ExecutesEach(BiFunction<? super MOCK, ARGUMENT, ? extends VALUE> method)
+      {
+        this.method = method;
+      }
+
+      public void thenReturn(Map<? extends ARGUMENT, ? extends VALUE> results)
+      {
+        mockery.expectEach(mock, JMockito.stubEach(mock, method, results), results.keySet());
+      }
+
+      public void thenReturn(Stream<? extends Map.Entry<? extends ARGUMENT, ? extends VALUE>> results)
+      {
+        thenReturn(JMockito.toMap(results));
       }
     }
   }
@@ -134,12 +602,12 @@ public class Mockery implements TestRule
   public static final class ReturnValue<VALUE>
   {
     private final VALUE value;
-    private final ArrayList<Verification> verifications;
+    private final Mockery mockery;
 
-    private ReturnValue(VALUE value, ArrayList<Verification> verifications)
+    private ReturnValue(VALUE value, Mockery mockery)
     {
       this.value = value;
-      this.verifications = verifications;
+      this.mockery = mockery;
     }
 
     public <MOCK> When<MOCK> when(MOCK mock)
@@ -158,19 +626,18 @@ public class Mockery implements TestRule
 
       public void executes(Function<? super MOCK, ? extends VALUE> function)
       {
-        function.apply(Mockito.doReturn(value).when(mock));
-        verifications.add(() -> function.apply(Mockito.verify(mock)));
+        mockery.expect(mock, JMockito.stub(mock, new Returns(value), function::apply));
       }
     }
   }
 
   public static final class DoNothing
   {
-    private final ArrayList<Verification> verifications;
+    private final Mockery mockery;
 
-    public DoNothing(ArrayList<Verification> verifications)
+    private DoNothing(Mockery mockery)
     {
-      this.verifications = verifications;
+      this.mockery = mockery;
     }
 
     public <MOCK> When<MOCK> when(MOCK mock)
@@ -189,8 +656,7 @@ public class Mockery implements TestRule
 
       public void runs(Consumer<? super MOCK> consumer)
       {
-        consumer.accept(Mockito.doNothing().when(mock));
-        verifications.add(() -> consumer.accept(Mockito.verify(mock)));
+        mockery.expect(mock, JMockito.stub(mock, new DoesNothing(), consumer));
       }
     }
   }
@@ -209,6 +675,16 @@ public class Mockery implements TestRule
       return new Executing<>(function);
     }
 
+    public ExecutingInt executingInt(ToIntFunction<? super MOCK> function)
+    {
+      return new ExecutingInt(function);
+    }
+
+    public ExecutingLong executingLong(ToLongFunction<? super MOCK> function)
+    {
+      return new ExecutingLong(function);
+    }
+
     public Running running(Consumer<? super MOCK> consumer)
     {
       return new Running(consumer);
@@ -225,8 +701,97 @@ public class Mockery implements TestRule
 
       public void thenReturn(VALUE value)
       {
-        function.apply(Mockito.doReturn(value).when(mock));
-        verifications.add(() -> function.apply(Mockito.verify(mock)));
+        expect(mock, JMockito.stub(mock, new Returns(value), function::apply));
+      }
+
+      public void thenAnswer(Answer0<? extends VALUE> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1> void thenAnswer(Answer1<? extends VALUE, A1> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1, A2> void thenAnswer(Answer2<? extends VALUE, A1, A2> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public <A1, A2, A3> void thenAnswer(Answer3<? extends VALUE, A1, A2, A3> answer)
+      {
+        doAnswer(JMockito.typed(answer));
+      }
+
+      public void thenReturnSequence(Supplier<? extends VALUE> values)
+      {
+        doAnswer(new SupplierAnswer(values));
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        expect(mock, JMockito.stub(mock, answer, function::apply), answer);
+      }
+    }
+
+    public final class ExecutingInt
+    {
+      private final ToIntFunction<? super MOCK> function;
+
+      private ExecutingInt(ToIntFunction<? super MOCK> function)
+      {
+        this.function = function;
+      }
+
+      public void thenReturn(int value)
+      {
+        expect(mock, JMockito.stub(mock, new Returns(value), function::applyAsInt));
+      }
+
+      public void thenReturnSequence(int... values)
+      {
+        doAnswer(SequenceAnswer.of(values));
+      }
+
+      public void thenReturnSequence(IntStream values)
+      {
+        thenReturnSequence(values.toArray());
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        expect(mock, JMockito.stub(mock, answer, function::applyAsInt), answer);
+      }
+    }
+
+    public final class ExecutingLong
+    {
+      private final ToLongFunction<? super MOCK> function;
+
+      private ExecutingLong(ToLongFunction<? super MOCK> function)
+      {
+        this.function = function;
+      }
+
+      public void thenReturn(long value)
+      {
+        expect(mock, JMockito.stub(mock, new Returns(value), function::applyAsLong));
+      }
+
+      public void thenReturnSequence(long... values)
+      {
+        doAnswer(SequenceAnswer.of(values));
+      }
+
+      public void thenReturnSequence(LongStream values)
+      {
+        thenReturnSequence(values.toArray());
+      }
+
+      private void doAnswer(Answer<?> answer)
+      {
+        expect(mock, JMockito.stub(mock, answer, function::applyAsLong), answer);
       }
     }
 
@@ -241,14 +806,8 @@ public class Mockery implements TestRule
 
       public void doNothing()
       {
-        consumer.accept(Mockito.doNothing().when(mock));
-        verifications.add(() -> consumer.accept(Mockito.verify(mock)));
+        expect(mock, JMockito.stub(mock, new DoesNothing(), consumer));
       }
     }
   }
-
-  private interface Verification
-  {
-    void verify();
-  }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package org.mockito;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.junit.runner.Description;
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.exceptions.verification.NeverWantedButInvoked;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+@SuppressWarnings("WeakerAccess")
+public class MockeryExtension extends Mockery implements BeforeEachCallback, TestExecutionExceptionHandler, AfterEachCallback
+{
+  public void beforeEach(ExtensionContext context)
+  {
+    started();
+  }
+
+  public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable
+  {
+    if (throwable instanceof UnexpectedInvocationError)
+    {
+      throw new NeverWantedButInvoked(throwable.getMessage());
+    }
+
+    throw throwable;
+  }
+
+  public void afterEach(ExtensionContext context) throws Exception
+  {
+    try
+    {
+      finished(Description.createTestDescription(context.getRequiredTestClass(), context.getDisplayName()), !context.getExecutionException().isPresent());
+    }
+    catch (Error | Exception e)
+    {
+      throw e;
+    }
+    catch (Throwable throwable)
+    {
+      throw new MockitoException("verification failed", throwable);
+    }
+  }
+
+  @Override
+  public MockeryExtension verifyInParallel()
+  {
+    super.verifyInParallel();
+    return this;
+  }
+
+  @Override
+  public MockeryExtension verifyInParallel(ForkJoinPool pool)
+  {
+    super.verifyInParallel(pool);
+    return this;
+  }
+
+  @Override
+  public MockeryExtension reportAtMost(int invocations)
+  {
+    super.reportAtMost(invocations);
+    return this;
+  }
+
+  @Override
+  public MockeryExtension reportAtMost(int invocations, Path dumpDirectory)
+  {
+    super.reportAtMost(invocations, dumpDirectory);
+    return this;
+  }
+
+  @Override
+  public MockeryExtension usePool(MockPool pool)
+  {
+    super.usePool(pool);
+    return this;
+  }
+
+  @Override
+  public MockeryExtension recordHitsOnly()
+  {
+    super.recordHitsOnly();
+    return this;
+  }
+
+  @Override
+  public MockeryExtension useProxies()
+  {
+    super.useProxies();
+    return this;
+  }
+
+  @Override
+  public MockeryExtension skipLocations()
+  {
+    super.skipLocations();
+    return this;
+  }
+
+  @Override
+  public MockeryExtension verifySequencesConsumed()
+  {
+    super.verifySequencesConsumed();
+    return this;
+  }
+
+  @Override
+  public MockeryExtension instrument(Instrumentation instrumentation)
+  {
+    super.instrument(instrumentation);
+    return this;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package org.mockito;
+
+import org.mockito.cglib.proxy.Factory;
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.invocation.InvocationMatcher;
+import org.mockito.internal.progress.MockingProgress;
+import org.mockito.internal.progress.ThreadSafeMockingProgress;
+import org.mockito.internal.stubbing.InvocationContainerImpl;
+import org.mockito.internal.stubbing.StubbedInvocationMatcher;
+import org.mockito.internal.stubbing.StubberImpl;
+import org.mockito.internal.util.MockUtil;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+final class Probes
+{
+  private static final MockUtil mockUtil = new MockUtil();
+  private static final MockingProgress mockingProgress = new ThreadSafeMockingProgress();
+
+  private final ConcurrentHashMap<Class<?>, ConcurrentLinkedQueue<Object>> idle = new ConcurrentHashMap<>();
+
+  @SuppressWarnings("unchecked")
+  <MOCK> InvocationMatcher capture(MOCK mock, Answer<?> answer, Consumer<? super MOCK> consumer)
+  {
+    InvocationMatcher captured = capture((Class<MOCK>) JMockito.mockClass(mock), answer, consumer);
+    return LightInvocation.matcher(JMockito.invocation(mock, captured.getMethod(), captured.getInvocation().getRawArguments()), captured.getMatchers());
+  }
+
+  @SuppressWarnings("unchecked")
+  <MOCK> InvocationMatcher capture(Class<MOCK> mockClass, Answer<?> answer, Consumer<? super MOCK> consumer)
+  {
+    ConcurrentLinkedQueue<Object> probes = idle.computeIfAbsent(mockClass, key -> new ConcurrentLinkedQueue<>());
+    Object probe = probes.poll();
+
+    if (probe == null)
+    {
+      probe = Mockito.mock(mockClass, Mockito.withSettings().stubOnly());
+
+      if (probe instanceof Factory)
+      {
+        StrictInterceptor.installWithoutLocations(probe);
+      }
+    }
+
+    try
+    {
+      consumer.accept((MOCK) new StubberImpl().doAnswer(answer).when(probe));
+    }
+    catch (RuntimeException | Error e)
+    {
+      mockingProgress.reset();
+      mockingProgress.resetOngoingStubbing();
+      throw e;
+    }
+
+    InvocationContainerImpl container = (InvocationContainerImpl) mockUtil.getMockHandler(probe).getInvocationContainer();
+    List<StubbedInvocationMatcher> stubbings = container.getStubbedInvocations();
+
+    if (stubbings.isEmpty())
+    {
+      mockingProgress.reset();
+      throw new MockitoException("stubbing of " + mockClass.getSimpleName() + " did not invoke any of its methods");
+    }
+
+    InvocationMatcher captured = container.getInvocationForStubbing();
+    stubbings.clear();
+    probes.offer(probe);
+    return captured;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package org.mockito;
+
+import org.mockito.internal.util.MockNameImpl;
+import org.mockito.internal.util.ObjectMethodsGuru;
+import org.mockito.internal.util.Primitives;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+final class ProxyMock implements InvocationHandler
+{
+  private static final ObjectMethodsGuru objectMethodsGuru = new ObjectMethodsGuru();
+  private static final Object[] noArguments = new Object[0];
+
+  private final Class<?> mockClass;
+  private final StrictAnswer answer;
+
+  private ProxyMock(Class<?> mockClass, StrictAnswer answer)
+  {
+    this.mockClass = mockClass;
+    this.answer = answer;
+  }
+
+  static <MOCK> MOCK create(Class<MOCK> mockClass, String name)
+  {
+    StrictAnswer answer = new StrictAnswer(name == null ? new MockNameImpl(null, mockClass).toString() : name);
+    answer.record(true);
+    return mockClass.cast(Proxy.newProxyInstance(mockClass.getClassLoader(), new Class<?>[]{mockClass}, new ProxyMock(mockClass, answer)));
+  }
+
+  static ProxyMock of(Object mock)
+  {
+    if (mock != null && Proxy.isProxyClass(mock.getClass()))
+    {
+      InvocationHandler handler = Proxy.getInvocationHandler(mock);
+
+      if (handler instanceof ProxyMock)
+      {
+        return (ProxyMock) handler;
+      }
+    }
+
+    return null;
+  }
+
+  public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable
+  {
+    if (objectMethodsGuru.isEqualsMethod(method))
+    {
+      return proxy == arguments[0];
+    }
+
+    if (objectMethodsGuru.isHashCodeMethod(method))
+    {
+      return System.identityHashCode(proxy);
+    }
+
+    Object value = answer.answer(new LightInvocation(proxy, method, arguments == null ? noArguments : arguments));
+    return value == null && method.getReturnType().isPrimitive() ? Primitives.defaultValueForPrimitiveOrWrapper(method.getReturnType()) : value;
+  }
+
+  Class<?> mockClass()
+  {
+    return mockClass;
+  }
+
+  StrictAnswer answer()
+  {
+    return answer;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.mockito;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+final class QueueRegistry<ELEMENT> implements Registry<ELEMENT>
+{
+  private final ConcurrentLinkedQueue<ELEMENT> elements = new ConcurrentLinkedQueue<>();
+
+  public void add(ELEMENT element)
+  {
+    elements.add(element);
+  }
+
+  public void forEach(Consumer<? super ELEMENT> action)
+  {
+    elements.forEach(action);
+  }
+
+  public void clear()
+  {
+    elements.clear();
+  }
+}
\ No newline at end of file
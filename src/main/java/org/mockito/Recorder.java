@@ -0,0 +1,73 @@
+package org.mockito;
+
+import org.mockito.invocation.Invocation;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+final class Recorder
+{
+  private final ExpectationIndex expectations = new ExpectationIndex();
+  private final ReentrantLock lock = new ReentrantLock();
+  private Invocation unexpected;
+
+  void expect(Expectation expectation)
+  {
+    lock.lock();
+
+    try
+    {
+      expectations.add(expectation);
+    }
+    finally
+    {
+      lock.unlock();
+    }
+  }
+
+  void record(Invocation invocation)
+  {
+    lock.lock();
+
+    try
+    {
+      if (!expectations.matches(invocation) && unexpected == null)
+      {
+        unexpected = invocation;
+      }
+    }
+    finally
+    {
+      lock.unlock();
+    }
+  }
+
+  Invocation unexpected()
+  {
+    lock.lock();
+
+    try
+    {
+      return unexpected;
+    }
+    finally
+    {
+      lock.unlock();
+    }
+  }
+
+  void clear()
+  {
+    lock.lock();
+
+    try
+    {
+      expectations.clearCounts();
+      expectations.clear();
+      unexpected = null;
+    }
+    finally
+    {
+      lock.unlock();
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.mockito;
+
+import java.util.function.Consumer;
+
+interface Registry<ELEMENT>
+{
+  void add(ELEMENT element);
+
+  void forEach(Consumer<? super ELEMENT> action);
+
+  void clear();
+
+  interface Factory
+  {
+    <ELEMENT> Registry<ELEMENT> create();
+  }
+}
\ No newline at end of file
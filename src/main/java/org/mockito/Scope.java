@@ -0,0 +1,19 @@
+package org.mockito;
+
+final class Scope
+{
+  final LayeredRegistry<Object> mocks;
+  final LayeredRegistry<Expectation> expectations;
+
+  Scope(Registry.Factory registries)
+  {
+    mocks = new LayeredRegistry<>(registries.create());
+    expectations = new LayeredRegistry<>(registries.create());
+  }
+
+  void clear()
+  {
+    mocks.clear();
+    expectations.clear();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package org.mockito;
+
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.stubbing.answers.Returns;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class SequenceAnswer extends Returns
+{
+  private static final long serialVersionUID = 6141899282130050574L;
+
+  private final int[] ints;
+  private final long[] longs;
+  private final int length;
+  private final AtomicLong next = new AtomicLong();
+
+  private SequenceAnswer(Object first, int[] ints, long[] longs, int length)
+  {
+    super(first);
+    this.ints = ints;
+    this.longs = longs;
+    this.length = length;
+  }
+
+  static SequenceAnswer of(int[] values)
+  {
+    checkNotEmpty(values.length);
+    return new SequenceAnswer(values[0], values, null, values.length);
+  }
+
+  static SequenceAnswer of(long[] values)
+  {
+    checkNotEmpty(values.length);
+    return new SequenceAnswer(values[0], null, values, values.length);
+  }
+
+  private static void checkNotEmpty(int length)
+  {
+    if (length == 0)
+    {
+      throw new MockitoException("cannot stub an empty sequence");
+    }
+  }
+
+  @Override
+  public Object answer(InvocationOnMock invocation)
+  {
+    long index = next.getAndIncrement();
+
+    if (index >= length)
+    {
+      throw new MockitoException("all " + length + " values of the sequence stubbed for " + invocation + " were already returned");
+    }
+
+    if (ints != null)
+    {
+      return ints[(int) index];
+    }
+
+    return longs[(int) index];
+  }
+
+  void rewind()
+  {
+    next.set(0);
+  }
+
+  int length()
+  {
+    return length;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "Returns sequence of " + length + " values";
+  }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package org.mockito;
+
+import org.mockito.internal.stubbing.StubbedInvocationMatcher;
+import org.mockito.internal.util.ObjectMethodsGuru;
+import org.mockito.invocation.Invocation;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+final class StrictAnswer implements Answer<Object>
+{
+  private static final ObjectMethodsGuru objectMethodsGuru = new ObjectMethodsGuru();
+
+  private final String name;
+  private volatile StubIndex stubs = new StubIndex();
+  private volatile long generation;
+  private volatile boolean captureLocations = true;
+  private volatile Recorder recorder;
+  private volatile AtomicReference<UnexpectedCall> unexpected;
+  private volatile Instrumentation instrumentation;
+
+  StrictAnswer(String name)
+  {
+    this.name = name;
+  }
+
+  public Object answer(InvocationOnMock invocationOnMock) throws Throwable
+  {
+    Invocation invocation = (Invocation) invocationOnMock;
+    Recorder recorder = this.recorder;
+
+    if (recorder != null && !objectMethodsGuru.isToString(invocation.getMethod()))
+    {
+      recorder.record(invocation);
+    }
+
+    StubbedInvocationMatcher stubbing = find(invocation);
+
+    if (stubbing != null)
+    {
+      stubbing.markStubUsed(invocation);
+      stubbing.captureArgumentsFrom(invocation);
+      return stubbing.answer(invocation);
+    }
+
+    if (objectMethodsGuru.isToString(invocation.getMethod()))
+    {
+      return name;
+    }
+
+    AtomicReference<UnexpectedCall> unexpected = this.unexpected;
+
+    if (unexpected != null && unexpected.get() == null)
+    {
+      unexpected.compareAndSet(null, new UnexpectedCall(invocation, Thread.currentThread().toString()));
+    }
+
+    throw new UnexpectedInvocationError(invocation, captureLocations);
+  }
+
+  private StubbedInvocationMatcher find(Invocation invocation)
+  {
+    Instrumentation instrumentation = this.instrumentation;
+
+    if (instrumentation == null)
+    {
+      instrumentation = JMockito.instrumentation();
+    }
+
+    if (instrumentation == null)
+    {
+      return stubs.find(invocation);
+    }
+
+    long start = System.nanoTime();
+    StubbedInvocationMatcher stubbing = stubs.find(invocation);
+    instrumentation.invoked(this, invocation.getMethod(), System.nanoTime() - start);
+    return stubbing;
+  }
+
+  String name()
+  {
+    return name;
+  }
+
+  void add(StubbedInvocationMatcher stubbing)
+  {
+    stubs.add(stubbing);
+  }
+
+  StubIndex freeze()
+  {
+    StubIndex frozen = stubs;
+    stubs = frozen.layer();
+    return frozen;
+  }
+
+  void restore(StubIndex frozen)
+  {
+    stubs = frozen.layer();
+    generation++;
+  }
+
+  void drop(StubIndex frozen)
+  {
+    stubs = frozen;
+  }
+
+  long generation()
+  {
+    return generation;
+  }
+
+  boolean capturesLocations()
+  {
+    return captureLocations;
+  }
+
+  void captureLocations(boolean enabled)
+  {
+    captureLocations = enabled;
+  }
+
+  void instrument(Instrumentation instrumentation)
+  {
+    this.instrumentation = instrumentation;
+  }
+
+  Recorder recorder()
+  {
+    return recorder;
+  }
+
+  void record(boolean enabled)
+  {
+    recorder = enabled ? new Recorder() : null;
+  }
+
+  void trackThreads(boolean enabled)
+  {
+    unexpected = enabled ? new AtomicReference<>() : null;
+  }
+
+  String thread(Invocation invocation)
+  {
+    AtomicReference<UnexpectedCall> unexpected = this.unexpected;
+    UnexpectedCall call = unexpected == null ? null : unexpected.get();
+    return call == null || call.invocation != invocation ? null : call.thread;
+  }
+
+  void clearThreads()
+  {
+    AtomicReference<UnexpectedCall> unexpected = this.unexpected;
+
+    if (unexpected != null)
+    {
+      unexpected.set(null);
+    }
+  }
+
+  void reset()
+  {
+    stubs = new StubIndex();
+
+    if (recorder != null)
+    {
+      recorder = new Recorder();
+    }
+
+    if (unexpected != null)
+    {
+      unexpected = new AtomicReference<>();
+    }
+  }
+
+  private static final class UnexpectedCall
+  {
+    private final Invocation invocation;
+    private final String thread;
+
+    private UnexpectedCall(Invocation invocation, String thread)
+    {
+      this.invocation = invocation;
+      this.thread = thread;
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package org.mockito;
+
+import org.mockito.cglib.proxy.Factory;
+import org.mockito.cglib.proxy.MethodProxy;
+import org.mockito.internal.InternalMockHandler;
+import org.mockito.internal.creation.cglib.InterceptorFilter;
+import org.mockito.internal.util.MockUtil;
+import org.mockito.mock.MockCreationSettings;
+
+import java.lang.reflect.Method;
+
+final class StrictInterceptor extends InterceptorFilter
+{
+  private static final long serialVersionUID = 4417985306283946145L;
+  private static final MockUtil mockUtil = new MockUtil();
+
+  private final MockCreationSettings<?> settings;
+  private final boolean skipLocations;
+
+  StrictInterceptor(InternalMockHandler<?> handler, MockCreationSettings<?> settings)
+  {
+    this(handler, settings, false);
+  }
+
+  private StrictInterceptor(InternalMockHandler<?> handler, MockCreationSettings<?> settings, boolean skipLocations)
+  {
+    super(handler, settings);
+    this.settings = settings;
+    this.skipLocations = skipLocations;
+  }
+
+  static void install(Object mock)
+  {
+    install(mock, false);
+  }
+
+  static void installWithoutLocations(Object mock)
+  {
+    install(mock, true);
+  }
+
+  private static void install(Object mock, boolean skipLocations)
+  {
+    InternalMockHandler<?> handler = (InternalMockHandler<?>) mockUtil.getMockHandler(mock);
+    ((Factory) mock).setCallback(0, new StrictInterceptor(handler, handler.getMockSettings(), skipLocations));
+  }
+
+  @Override
+  public Object intercept(Object proxy, Method method, Object[] arguments, MethodProxy methodProxy) throws Throwable
+  {
+    if (!skipLocations && JMockito.capturesLocations(settings) || method.getDeclaringClass() == Object.class || method.getName().equals("writeReplace"))
+    {
+      return super.intercept(proxy, method, arguments, methodProxy);
+    }
+
+    return getHandler().handle(new LightInvocation(proxy, method, arguments));
+  }
+}
\ No newline at end of file
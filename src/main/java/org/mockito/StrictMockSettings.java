@@ -0,0 +1,19 @@
+package org.mockito;
+
+import org.mockito.internal.creation.settings.CreationSettings;
+import org.mockito.mock.MockName;
+import org.mockito.stubbing.Answer;
+
+final class StrictMockSettings<MOCK> extends CreationSettings<MOCK>
+{
+  private static final long serialVersionUID = 7796433115593736539L;
+
+  StrictMockSettings(CreationSettings<MOCK> prototype, MockName mockName, Answer<Object> defaultAnswer, boolean stubOnly)
+  {
+    super(prototype);
+    this.name = mockName.isDefault() ? null : mockName.toString();
+    this.mockName = mockName;
+    this.defaultAnswer = defaultAnswer;
+    this.stubOnly = stubOnly;
+  }
+}
\ No newline at end of file
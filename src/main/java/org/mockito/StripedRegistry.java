@@ -0,0 +1,55 @@
+package org.mockito;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+final class StripedRegistry<ELEMENT> implements Registry<ELEMENT>
+{
+  private final ConcurrentLinkedQueue<Stripe<ELEMENT>> stripes = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<Stripe<ELEMENT>> stripe = ThreadLocal.withInitial(() ->
+  {
+    Stripe<ELEMENT> stripe = new Stripe<>(Thread.currentThread());
+    stripes.add(stripe);
+    return stripe;
+  });
+
+  public void add(ELEMENT element)
+  {
+    stripe.get().elements.add(element);
+  }
+
+  public void forEach(Consumer<? super ELEMENT> action)
+  {
+    stripes.forEach(stripe -> stripe.elements.forEach(action));
+  }
+
+  public void clear()
+  {
+    stripes.removeIf(stripe -> !stripe.alive());
+    stripes.forEach(stripe -> stripe.elements.clear());
+  }
+
+  int stripes()
+  {
+    return stripes.size();
+  }
+
+  private static final class Stripe<ELEMENT>
+  {
+    private final WeakReference<Thread> owner;
+    private final ArrayList<ELEMENT> elements = new ArrayList<>();
+
+    private Stripe(Thread owner)
+    {
+      this.owner = new WeakReference<>(owner);
+    }
+
+    private boolean alive()
+    {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package org.mockito;
+
+import org.mockito.internal.stubbing.StubbedInvocationMatcher;
+import org.mockito.invocation.Invocation;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class StubIndex
+{
+  private final ConcurrentHashMap<List<Object>, Entry> exact = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Method, CopyOnWriteArrayList<Entry>> matching = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final StubIndex parent;
+
+  StubIndex()
+  {
+    this(null);
+  }
+
+  private StubIndex(StubIndex parent)
+  {
+    this.parent = parent;
+  }
+
+  StubIndex layer()
+  {
+    return new StubIndex(this);
+  }
+
+  void add(StubbedInvocationMatcher stubbing)
+  {
+    long sequence = this.sequence.incrementAndGet();
+
+    if (Expectation.isExact(stubbing))
+    {
+      exact.compute(key(stubbing.getMethod(), stubbing.getInvocation().getArguments()), (key, previous) -> new Entry(stubbing, sequence, previous));
+    }
+    else
+    {
+      matching.computeIfAbsent(stubbing.getMethod(), method -> new CopyOnWriteArrayList<>()).add(0, new Entry(stubbing, sequence, null));
+    }
+  }
+
+  StubbedInvocationMatcher find(Invocation invocation)
+  {
+    Entry found = exact.isEmpty() ? null : exact.get(key(invocation.getMethod(), invocation.getArguments()));
+    List<Entry> candidates = matching.get(invocation.getMethod());
+
+    if (candidates != null)
+    {
+      for (Entry candidate : candidates)
+      {
+        if (found == null || candidate.sequence > found.sequence)
+        {
+          if (candidate.stubbing.matches(invocation))
+          {
+            if (found != null)
+            {
+              found.markUsed(invocation);
+            }
+
+            found = candidate;
+          }
+        }
+        else
+        {
+          candidate.markMatching(invocation);
+        }
+      }
+    }
+
+    if (found == null)
+    {
+      return parent == null ? null : parent.find(invocation);
+    }
+
+    if (found.previous != null)
+    {
+      found.previous.markUsed(invocation);
+    }
+
+    if (parent != null)
+    {
+      parent.markMatching(invocation);
+    }
+
+    return found.stubbing;
+  }
+
+  private void markMatching(Invocation invocation)
+  {
+    Entry found = exact.isEmpty() ? null : exact.get(key(invocation.getMethod(), invocation.getArguments()));
+    List<Entry> candidates = matching.get(invocation.getMethod());
+
+    if (found != null)
+    {
+      found.markUsed(invocation);
+    }
+
+    if (candidates != null)
+    {
+      candidates.forEach(candidate -> candidate.markMatching(invocation));
+    }
+
+    if (parent != null)
+    {
+      parent.markMatching(invocation);
+    }
+  }
+
+  private static List<Object> key(Method method, Object[] arguments)
+  {
+    List<Object> key = new ArrayList<>(arguments.length + 1);
+    key.add(method);
+    Collections.addAll(key, arguments);
+    return key;
+  }
+
+  private static final class Entry
+  {
+    private final StubbedInvocationMatcher stubbing;
+    private final long sequence;
+    private final Entry previous;
+
+    private Entry(StubbedInvocationMatcher stubbing, long sequence, Entry previous)
+    {
+      this.stubbing = stubbing;
+      this.sequence = sequence;
+      this.previous = previous;
+    }
+
+    private void markUsed(Invocation invocation)
+    {
+      for (Entry entry = this; entry != null; entry = entry.previous)
+      {
+        if (!entry.stubbing.wasUsed())
+        {
+          entry.stubbing.markStubUsed(invocation);
+        }
+      }
+    }
+
+    private void markMatching(Invocation invocation)
+    {
+      if (!stubbing.wasUsed() && stubbing.matches(invocation))
+      {
+        stubbing.markStubUsed(invocation);
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package org.mockito;
+
+import org.mockito.internal.invocation.InvocationMatcher;
+import org.mockito.internal.stubbing.StubbedInvocationMatcher;
+import org.mockito.invocation.DescribedInvocation;
+import org.mockito.stubbing.Answer;
+
+final class Stubbing extends StubbedInvocationMatcher
+{
+  private static final long serialVersionUID = 7892679975238224029L;
+
+  private final StrictAnswer owner;
+  private final Answer<?> answer;
+  private long usedIn = -1;
+
+  Stubbing(InvocationMatcher invocation, Answer<?> answer, StrictAnswer owner)
+  {
+    super(invocation, answer);
+    this.owner = owner;
+    this.answer = answer;
+  }
+
+  @Override
+  public void markStubUsed(DescribedInvocation usedAt)
+  {
+    long generation = owner.generation();
+
+    if (usedIn != generation)
+    {
+      usedIn = generation;
+    }
+  }
+
+  @Override
+  public boolean wasUsed()
+  {
+    return usedIn == owner.generation();
+  }
+
+  Answer<?> stubbedAnswer()
+  {
+    return answer;
+  }
+}
\ No newline at end of file
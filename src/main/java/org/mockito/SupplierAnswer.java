@@ -0,0 +1,21 @@
+package org.mockito;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.function.Supplier;
+
+final class SupplierAnswer implements Answer<Object>
+{
+  private final Supplier<?> supplier;
+
+  SupplierAnswer(Supplier<?> supplier)
+  {
+    this.supplier = supplier;
+  }
+
+  public Object answer(InvocationOnMock invocation)
+  {
+    return supplier.get();
+  }
+}
\ No newline at end of file
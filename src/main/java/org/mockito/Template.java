@@ -0,0 +1,97 @@
+package org.mockito;
+
+import org.hamcrest.Matcher;
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.invocation.ArgumentsProcessor;
+import org.mockito.internal.invocation.InvocationMatcher;
+import org.mockito.internal.stubbing.StubbedInvocationMatcher;
+import org.mockito.internal.stubbing.answers.Returns;
+import org.mockito.invocation.Invocation;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+
+@SuppressWarnings("WeakerAccess")
+public final class Template<MOCK, VALUE>
+{
+  private final Method method;
+  private final Class<?>[] parameterTypes;
+  private final Object[] arguments;
+  @SuppressWarnings("rawtypes")
+  private final List<Matcher> matchers;
+  private final Mockery mockery;
+
+  Template(Class<MOCK> mockClass, Function<? super MOCK, ? extends VALUE> function, Mockery mockery)
+  {
+    InvocationMatcher captured = JMockito.capture(mockClass, function::apply);
+    method = captured.getMethod();
+    parameterTypes = method.getParameterTypes();
+    arguments = captured.getInvocation().getRawArguments();
+    matchers = captured.getMatchers();
+    this.mockery = mockery;
+  }
+
+  public When when(MOCK mock, Object... arguments)
+  {
+    return new When(mock, arguments);
+  }
+
+  public final class When
+  {
+    private final MOCK mock;
+    private final Object[] arguments;
+
+    private When(MOCK mock, Object[] arguments)
+    {
+      if (arguments.length != 0)
+      {
+        check(arguments);
+      }
+
+      this.mock = mock;
+      this.arguments = arguments;
+    }
+
+    private void check(Object[] arguments)
+    {
+      if (arguments.length != parameterTypes.length)
+      {
+        throw new MockitoException("template for " + method.getName() + " takes " + parameterTypes.length + " arguments, " + arguments.length + " given");
+      }
+
+      for (int i = 0; i < arguments.length; i++)
+      {
+        Class<?> parameterType = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+
+        if (arguments[i] == null ? parameterTypes[i].isPrimitive() : !parameterType.isInstance(arguments[i]))
+        {
+          throw new MockitoException("template for " + method.getName() + " takes " + parameterType.getName() + " as argument " + (i + 1) + ", " + arguments[i] + " given");
+        }
+      }
+    }
+
+    public void thenReturn(VALUE value)
+    {
+      StubbedInvocationMatcher stubbing = JMockito.stubbing(mock, invocationMatcher(), new Returns(value));
+      JMockito.stub(mock, stubbing);
+
+      if (mockery != null)
+      {
+        mockery.expect(Expectation.of(mock, stubbing));
+      }
+    }
+
+    private InvocationMatcher invocationMatcher()
+    {
+      if (arguments.length == 0)
+      {
+        return LightInvocation.matcher(JMockito.invocation(mock, method, Template.this.arguments), matchers);
+      }
+
+      Invocation invocation = JMockito.invocation(mock, method, arguments);
+      return LightInvocation.matcher(invocation, ArgumentsProcessor.argumentsToMatchers(invocation.getArguments()));
+    }
+  }
+}
\ No newline at end of file
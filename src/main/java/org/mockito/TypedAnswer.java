@@ -0,0 +1,118 @@
+package org.mockito;
+
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.invocation.Invocation;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+final class TypedAnswer implements Answer<Object>
+{
+  private final Object typed;
+  private final Class<?> answerInterface;
+  private final int arity;
+  private final Answer<Object> answer;
+
+  TypedAnswer(Object typed, Class<?> answerInterface, int arity, Answer<Object> answer)
+  {
+    this.typed = typed;
+    this.answerInterface = answerInterface;
+    this.arity = arity;
+    this.answer = answer;
+  }
+
+  public Object answer(InvocationOnMock invocation) throws Throwable
+  {
+    return answer.answer(invocation);
+  }
+
+  void check(Method method)
+  {
+    Class<?>[] methodTypes = method.getParameterTypes();
+
+    if (methodTypes.length != arity)
+    {
+      throw new MockitoException("answer to " + method.getName() + " takes " + arity + " arguments, but " + method.getName() + " takes " + methodTypes.length);
+    }
+
+    Class<?>[] answerTypes = parameterTypes();
+
+    if (answerTypes == null)
+    {
+      return;
+    }
+
+    for (int i = 0; i < arity; i++)
+    {
+      Class<?> argumentType = MethodType.methodType(methodTypes[i]).wrap().returnType();
+      Class<?> answerType = MethodType.methodType(answerTypes[i]).wrap().returnType();
+
+      if (!answerType.isAssignableFrom(argumentType))
+      {
+        throw new MockitoException("answer to " + method.getName() + " takes " + answerType.getName() + " as argument " + (i + 1) + ", but " + method.getName() + " passes " + argumentType.getName());
+      }
+    }
+  }
+
+  private Class<?>[] parameterTypes()
+  {
+    Class<?>[] lambdaTypes = lambdaParameterTypes();
+    return lambdaTypes == null ? declaredParameterTypes() : lambdaTypes;
+  }
+
+  private Class<?>[] lambdaParameterTypes()
+  {
+    if (!(typed instanceof Serializable))
+    {
+      return null;
+    }
+
+    try
+    {
+      Method writeReplace = typed.getClass().getDeclaredMethod("writeReplace");
+      writeReplace.setAccessible(true);
+      Object replacement = writeReplace.invoke(typed);
+
+      if (replacement instanceof SerializedLambda)
+      {
+        return MethodType.fromMethodDescriptorString(((SerializedLambda) replacement).getInstantiatedMethodType(), typed.getClass().getClassLoader()).parameterArray();
+      }
+    }
+    catch (ReflectiveOperationException | RuntimeException e)
+    {
+      return null;
+    }
+
+    return null;
+  }
+
+  private Class<?>[] declaredParameterTypes()
+  {
+    for (Class<?> type = typed.getClass(); type != null; type = type.getSuperclass())
+    {
+      for (Type implemented : type.getGenericInterfaces())
+      {
+        if (implemented instanceof ParameterizedType && ((ParameterizedType) implemented).getRawType() == answerInterface)
+        {
+          Type[] arguments = ((ParameterizedType) implemented).getActualTypeArguments();
+          Class<?>[] types = new Class<?>[arity];
+
+          for (int i = 0; i < arity; i++)
+          {
+            types[i] = arguments[i + 1] instanceof Class ? (Class<?>) arguments[i + 1] : Object.class;
+          }
+
+          return types;
+        }
+      }
+    }
+
+    return null;
+  }
+}
\ No newline at end of file
@@ -4,8 +4,33 @@ import org.mockito.invocation.InvocationOnMock;
 
 final class UnexpectedInvocationError extends AssertionError
 {
-  UnexpectedInvocationError(InvocationOnMock invocationOnMock)
+  private final InvocationOnMock invocationOnMock;
+  private String message;
+
+  UnexpectedInvocationError(InvocationOnMock invocationOnMock, boolean stackTrace)
+  {
+    this.invocationOnMock = invocationOnMock;
+
+    if (stackTrace)
+    {
+      super.fillInStackTrace();
+    }
+  }
+
+  @Override
+  public String getMessage()
+  {
+    if (message == null)
+    {
+      message = "unexpected invocation " + invocationOnMock.toString();
+    }
+
+    return message;
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace()
   {
-    super("unexpected invocation " + invocationOnMock.toString());
+    return this;
   }
 }
\ No newline at end of file
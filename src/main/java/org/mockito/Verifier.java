@@ -0,0 +1,271 @@
+package org.mockito;
+
+import org.mockito.exceptions.Reporter;
+import org.mockito.exceptions.verification.NoInteractionsWanted;
+import org.mockito.exceptions.verification.WantedButNotInvoked;
+import org.mockito.internal.exceptions.VerificationAwareInvocation;
+import org.mockito.internal.invocation.InvocationMatcher;
+import org.mockito.internal.reporting.Discrepancy;
+import org.mockito.internal.util.MockUtil;
+import org.mockito.internal.verification.checkers.MissingInvocationChecker;
+import org.mockito.internal.verification.checkers.NumberOfInvocationsChecker;
+import org.mockito.invocation.Invocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+final class Verifier
+{
+  private static final MockUtil mockUtil = new MockUtil();
+
+  private final ForkJoinPool pool;
+  private final FailureReport report;
+
+  Verifier(ForkJoinPool pool, FailureReport report)
+  {
+    this.pool = pool;
+    this.report = report;
+  }
+
+  ForkJoinPool pool()
+  {
+    return pool;
+  }
+
+  FailureReport report()
+  {
+    return report;
+  }
+
+  void verify(Scope classScope, Scope testScope) throws Throwable
+  {
+    IdentityHashMap<Object, MockVerification> byMock = new IdentityHashMap<>();
+    List<MockVerification> inOrder = new ArrayList<>();
+
+    classScope.mocks.forEach(mock -> group(mock, byMock, inOrder, report).strict = true);
+    testScope.mocks.forEach(mock -> group(mock, byMock, inOrder, report).strict = true);
+    classScope.expectations.forEach(expectation -> group(expectation.mock(), byMock, inOrder, report).allow(expectation));
+    testScope.expectations.forEach(expectation -> group(expectation.mock(), byMock, inOrder, report).expect(expectation));
+
+    if (pool == null)
+    {
+      verifySequentially(inOrder);
+    }
+    else
+    {
+      verifyInParallel(inOrder);
+    }
+  }
+
+  private static void verifySequentially(List<MockVerification> inOrder) throws Throwable
+  {
+    for (MockVerification mockVerification : inOrder)
+    {
+      Throwable failure = mockVerification.call();
+
+      if (failure != null)
+      {
+        throw failure;
+      }
+    }
+  }
+
+  private void verifyInParallel(List<MockVerification> inOrder) throws Throwable
+  {
+    List<ForkJoinTask<Throwable>> tasks = new ArrayList<>(inOrder.size());
+    inOrder.forEach(mockVerification -> tasks.add(pool.submit(mockVerification::call)));
+
+    Throwable failure = null;
+
+    for (ForkJoinTask<Throwable> task : tasks)
+    {
+      Throwable throwable = task.join();
+
+      if (failure == null)
+      {
+        failure = throwable;
+      }
+    }
+
+    if (failure != null)
+    {
+      throw failure;
+    }
+  }
+
+  private static void unused(Expectation expectation, List<Expectation> unused)
+  {
+    if (expectation.unused())
+    {
+      unused.add(expectation);
+    }
+  }
+
+  private static void checkUnused(List<Expectation> unused)
+  {
+    if (!unused.isEmpty())
+    {
+      StringBuilder message = new StringBuilder("\nUnused stubbings, wanted but not invoked:\n");
+
+      for (int i = 0; i < unused.size(); i++)
+      {
+        InvocationMatcher wanted = unused.get(i).wanted();
+        message.append(i + 1).append(". ").append(wanted).append("\n").append(wanted.getLocation()).append("\n");
+      }
+
+      throw new WantedButNotInvoked(message.toString());
+    }
+  }
+
+  private static MockVerification group(Object mock, IdentityHashMap<Object, MockVerification> byMock, List<MockVerification> inOrder, FailureReport report)
+  {
+    return byMock.computeIfAbsent(mock, key ->
+    {
+      MockVerification mockVerification = new MockVerification(key, report);
+      inOrder.add(mockVerification);
+      return mockVerification;
+    });
+  }
+
+  private static final class MockVerification
+  {
+    private final Object mock;
+    private final FailureReport report;
+    private final Recorder recorder;
+    private final List<Expectation> expectations = new ArrayList<>();
+    private final ExpectationIndex candidates = new ExpectationIndex();
+    private boolean strict;
+    private List<Invocation> invocations;
+    private Invocation unexpected;
+
+    private MockVerification(Object mock, FailureReport report)
+    {
+      this.mock = mock;
+      this.report = report;
+      recorder = JMockito.recorder(mock);
+    }
+
+    private void allow(Expectation expectation)
+    {
+      candidates.add(expectation);
+    }
+
+    private void expect(Expectation expectation)
+    {
+      expectations.add(expectation);
+      allow(expectation);
+    }
+
+    private void scan()
+    {
+      if (recorder != null)
+      {
+        unexpected = recorder.unexpected();
+        return;
+      }
+
+      invocations = mockUtil.getMockHandler(mock).getInvocationContainer().getInvocations();
+      candidates.clearCounts();
+      unexpected = null;
+
+      for (Invocation invocation : invocations)
+      {
+        if (candidates.matches(invocation))
+        {
+          invocation.markVerified();
+        }
+        else if (unexpected == null)
+        {
+          unexpected = invocation;
+        }
+      }
+    }
+
+    private void checkExpectation(Expectation expectation)
+    {
+      if (invocations == null)
+      {
+        checkRecordedExpectation(expectation);
+      }
+      else if (expectation.count() == 0)
+      {
+        new MissingInvocationChecker().check(invocations, expectation.wanted());
+      }
+      else if (expectation.count() < expectation.minimum())
+      {
+        new NumberOfInvocationsChecker().check(invocations, expectation.wanted(), expectation.minimum());
+      }
+      else if (expectation.count() > expectation.maximum())
+      {
+        new NumberOfInvocationsChecker().check(invocations, expectation.wanted(), expectation.maximum());
+      }
+    }
+
+    private static void checkRecordedExpectation(Expectation expectation)
+    {
+      if (expectation.count() == 0)
+      {
+        new Reporter().wantedButNotInvoked(expectation.wanted());
+      }
+      else if (expectation.count() < expectation.minimum())
+      {
+        new Reporter().tooLittleActualInvocations(new Discrepancy(expectation.minimum(), expectation.count()), expectation.wanted(), null);
+      }
+      else if (expectation.count() > expectation.maximum())
+      {
+        new Reporter().tooManyActualInvocations(expectation.maximum(), expectation.count(), expectation.wanted(), expectation.undesired());
+      }
+    }
+
+    private void checkUnexpected()
+    {
+      if (strict && unexpected != null)
+      {
+        try
+        {
+          if (report == null || invocations == null)
+          {
+            new Reporter().noMoreInteractionsWanted(unexpected, (invocations == null ? Collections.singletonList(unexpected) : invocations).stream().map(VerificationAwareInvocation.class::cast).collect(Collectors.toList()));
+          }
+
+          throw new NoInteractionsWanted(report.noMoreInteractionsWanted(mock, invocations));
+        }
+        catch (NoInteractionsWanted e)
+        {
+          StrictAnswer answer = JMockito.strictAnswer(mock);
+          String thread = answer == null ? null : answer.thread(unexpected);
+
+          if (thread == null)
+          {
+            throw e;
+          }
+
+          throw new NoInteractionsWanted(e.getMessage() + "Unexpected invocation made by " + thread + "\n");
+        }
+      }
+    }
+
+    private Throwable call()
+    {
+      try
+      {
+        List<Expectation> unused = new ArrayList<>();
+        expectations.forEach(expectation -> unused(expectation, unused));
+        checkUnused(unused);
+        scan();
+        expectations.forEach(this::checkExpectation);
+        checkUnexpected();
+        return null;
+      }
+      catch (Throwable throwable)
+      {
+        return throwable;
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package org.mockito;
+
+@SuppressWarnings("WeakerAccess")
+public class VirtualThreadMockery extends Mockery
+{
+  public VirtualThreadMockery()
+  {
+    super(QueueRegistry::new, true, true);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package org.mockito.internal.creation.cglib;
+
+import org.mockito.internal.InternalMockHandler;
+import org.mockito.mock.MockCreationSettings;
+
+public abstract class InterceptorFilter extends MethodInterceptorFilter
+{
+  private static final long serialVersionUID = -2930718364750119262L;
+
+  protected InterceptorFilter(InternalMockHandler<?> handler, MockCreationSettings<?> settings)
+  {
+    super(handler, settings);
+  }
+}
\ No newline at end of file
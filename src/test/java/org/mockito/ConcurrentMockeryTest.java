@@ -0,0 +1,145 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.Statement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Nested.class)
+public class ConcurrentMockeryTest
+{
+  private static final int THREADS = 8;
+  private static final int MOCKS_PER_THREAD = 50;
+
+  private ConcurrentMockery mockery;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp()
+  {
+    mockery = new ConcurrentMockery();
+    executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @After
+  public void tearDown()
+  {
+    executor.shutdownNow();
+  }
+
+  private void inParallel(Runnable task) throws Exception
+  {
+    List<Future<?>> futures = new ArrayList<>();
+
+    for (int i = 0; i < THREADS; i++)
+    {
+      futures.add(executor.submit(task));
+    }
+
+    for (Future<?> future : futures)
+    {
+      future.get();
+    }
+  }
+
+  public class MockTest
+  {
+    @Test
+    public void fromManyThreads() throws Exception
+    {
+      inParallel(() ->
+      {
+        for (int i = 0; i < MOCKS_PER_THREAD; i++)
+        {
+          Mockable mock = mockery.mock(Mockable.class, "pippo" + i);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+          assertThat(mock.nonVoidMethod(12), is("dodici"));
+        }
+      });
+    }
+  }
+
+  public class ApplyTest
+  {
+    @Test
+    public void onlyStrictlyNeededStubbing() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          inParallel(() ->
+          {
+            for (int i = 0; i < MOCKS_PER_THREAD; i++)
+            {
+              Mockable mock = mockery.mock(Mockable.class);
+              mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+              mockery.doNothing().when(mock).runs(t -> t.voidMethod(13));
+              mock.nonVoidMethod(12);
+              mock.voidMethod(13);
+            }
+          });
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.WantedButNotInvoked.class)
+    public void moreStubbingThanStrictlyNeeded() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          inParallel(() ->
+          {
+            Mockable mock = mockery.mock(Mockable.class);
+            mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+            mockery.when(mock).runs(t -> t.voidMethod(13)).doNothing();
+            mock.nonVoidMethod(12);
+          });
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void swallowedUnexpectedInvocation() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          inParallel(() ->
+          {
+            Mockable mock = mockery.mock(Mockable.class);
+
+            try
+            {
+              mock.voidMethod(13);
+            }
+            catch (UnexpectedInvocationError e)
+            {
+              // swallowed by the code under test
+            }
+          });
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+  }
+}
\ No newline at end of file
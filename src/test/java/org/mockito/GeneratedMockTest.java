@@ -0,0 +1,90 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Nested.class)
+@GenerateMocks({GeneratedMockTest.Service.class, GeneratedMockTest.Repository.class})
+public class GeneratedMockTest
+{
+  interface Service
+  {
+    void voidMethod(int n);
+
+    long nextLong();
+  }
+
+  interface Repository<ITEM> extends Supplier<ITEM>
+  {
+    ITEM find(long id);
+
+    void close() throws IOException;
+
+    <KEY extends Comparable<KEY>> List<KEY> sorted(KEY first, KEY second);
+
+    default String name()
+    {
+      return "repository";
+    }
+  }
+
+  public class MockTest
+  {
+    @Test
+    public void generated()
+    {
+      Service mock = JMockito.mock(Service.class, "pippo");
+      assertThat(mock instanceof GeneratedMock, is(true));
+      assertThat(mock.toString(), is("pippo"));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void strict()
+    {
+      JMockito.mock(Service.class).voidMethod(12);
+    }
+
+    @Test
+    public void stubbed()
+    {
+      Service mock = JMockito.mock(Service.class);
+      JMockito.when(mock).executes(Service::nextLong).thenReturn(12L);
+      JMockito.when(mock).runs(t -> t.voidMethod(13)).doNothing();
+      mock.voidMethod(13);
+      assertThat(mock instanceof GeneratedMock, is(true));
+      assertThat(mock.nextLong(), is(12L));
+      Mockito.verify(mock).voidMethod(13);
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void checkedException() throws IOException
+    {
+      JMockito.mock(Repository.class).close();
+    }
+
+    @Test
+    public void generic()
+    {
+      @SuppressWarnings("unchecked")
+      Repository<String> mock = JMockito.mock(Repository.class);
+      JMockito.when(mock).executes(t -> t.find(12)).thenReturn("dodici");
+      JMockito.when(mock).executes(t -> t.sorted("b", "a")).thenReturn(Arrays.asList("a", "b"));
+      JMockito.when(mock).executes(Repository::get).thenReturn("tredici");
+      JMockito.when(mock).executes(Repository::name).thenReturn("pippo");
+      assertThat(mock instanceof GeneratedMock, is(true));
+      assertThat(mock.find(12), is("dodici"));
+      assertThat(mock.sorted("b", "a"), is(Arrays.asList("a", "b")));
+      assertThat(mock.get(), is("tredici"));
+      assertThat(mock.name(), is("pippo"));
+    }
+  }
+}
\ No newline at end of file
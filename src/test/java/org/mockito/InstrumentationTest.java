@@ -0,0 +1,184 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.Statement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Nested.class)
+public class InstrumentationTest
+{
+  private Instrumentation instrumentation;
+  private List<Instrumentation.Snapshot> snapshots;
+
+  @Before
+  public void setUp()
+  {
+    snapshots = new ArrayList<>();
+    instrumentation = new Instrumentation((description, snapshot) -> snapshots.add(snapshot));
+    JMockito.instrument(instrumentation);
+  }
+
+  @After
+  public void tearDown()
+  {
+    JMockito.instrument(null);
+  }
+
+  public class InvocationTest
+  {
+    @Test
+    public void countsPerMockAndMethod()
+    {
+      Mockable mock = JMockito.mock(Mockable.class, "pippo");
+      JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici").runs(t -> t.voidMethod(13)).doNothing();
+
+      mock.nonVoidMethod(12);
+      mock.nonVoidMethod(12);
+      mock.voidMethod(13);
+
+      Instrumentation.Snapshot snapshot = instrumentation.snapshot();
+      assertThat(snapshot.mocks().size(), is(1));
+      assertThat(snapshot.mocks().get(0).name(), is("pippo"));
+      assertThat(snapshot.mocks().get(0).invocationsByMethod().get("nonVoidMethod"), is(2L));
+      assertThat(snapshot.mocks().get(0).invocationsByMethod().get("voidMethod"), is(1L));
+      assertThat(snapshot.invocations(), is(3L));
+      assertThat(snapshot.stubbingMatch().count(), is(3L));
+    }
+
+    @Test
+    public void disabled()
+    {
+      JMockito.instrument(null);
+      Mockable mock = JMockito.mock(Mockable.class);
+      JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+      mock.nonVoidMethod(12);
+
+      assertThat(instrumentation.snapshot().invocations(), is(0L));
+    }
+
+    @Test
+    public void clear()
+    {
+      Mockable mock = JMockito.mock(Mockable.class);
+      JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      mock.nonVoidMethod(12);
+
+      instrumentation.clear();
+
+      assertThat(instrumentation.snapshot().invocations(), is(0L));
+      assertThat(instrumentation.snapshot().stubbingMatch().count(), is(0L));
+    }
+  }
+
+  public class MockeryTest
+  {
+    @Test
+    public void timesVerificationAndNotifiesListener() throws Throwable
+    {
+      Mockery mockery = new Mockery().instrument(instrumentation);
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+          mock.nonVoidMethod(12);
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+
+      assertThat(snapshots.size(), is(1));
+      assertThat(snapshots.get(0).verification().count(), is(1L));
+      assertThat(snapshots.get(0).invocations(), is(1L));
+    }
+
+    @Test
+    public void reportsEachTestSeparately() throws Throwable
+    {
+      Mockery mockery = new Mockery().instrument(instrumentation);
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+          mock.nonVoidMethod(12);
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+      mockery.apply(statement, null).evaluate();
+
+      assertThat(snapshots.size(), is(2));
+      assertThat(snapshots.get(1).verification().count(), is(1L));
+      assertThat(snapshots.get(1).invocations(), is(1L));
+      assertThat(snapshots.get(1).mocks().size(), is(1));
+      assertThat(instrumentation.snapshot().invocations(), is(0L));
+    }
+
+    @Test
+    public void countsItsOwnMocksWithoutGlobalInstrumentation() throws Throwable
+    {
+      JMockito.instrument(null);
+      Mockery mockery = new Mockery().instrument(instrumentation);
+      Mockable classMock = mockery.mock(Mockable.class, "pippo");
+      mockery.when(classMock).runs(t -> t.voidMethod(13)).doNothing();
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+          mock.nonVoidMethod(12);
+          classMock.voidMethod(13);
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+
+      assertThat(snapshots.size(), is(1));
+      assertThat(snapshots.get(0).invocations(), is(2L));
+      assertThat(snapshots.get(0).mocks().size(), is(2));
+    }
+
+    @Test
+    public void leavesGlobalInstrumentationAlone() throws Throwable
+    {
+      Instrumentation global = new Instrumentation();
+      JMockito.instrument(global);
+      Mockable other = JMockito.mock(Mockable.class);
+      JMockito.when(other).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      other.nonVoidMethod(12);
+      Mockery mockery = new Mockery().instrument(instrumentation);
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+          mock.nonVoidMethod(12);
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+
+      assertThat(snapshots.get(0).invocations(), is(1L));
+      assertThat(global.snapshot().invocations(), is(1L));
+    }
+  }
+}
\ No newline at end of file
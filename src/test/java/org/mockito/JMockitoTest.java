@@ -4,13 +4,33 @@ import net.avh4.test.junit.Nested;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.exceptions.base.MockitoException;
+import org.mockito.internal.util.MockUtil;
+
+import java.io.Serializable;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 @RunWith(Nested.class)
 public class JMockitoTest
 {
+  interface Service
+  {
+    String call(int n);
+  }
+
   public class MockTest
   {
     @Test
@@ -26,6 +46,50 @@ public class JMockitoTest
       Mockable mock = JMockito.mock(Mockable.class, "pippo");
       assertThat(mock.toString(), is("pippo"));
     }
+
+    @Test
+    public void withoutStubbing()
+    {
+      Mockable mock = JMockito.mock(Mockable.class);
+      assertThat(new MockUtil().getMockHandler(mock).getInvocationContainer().getStubbedInvocations().isEmpty(), is(true));
+    }
+  }
+
+  public class ProxyTest
+  {
+    @Test
+    public void withName()
+    {
+      Mockable mock = JMockito.proxy(Mockable.class, "pippo");
+      assertThat(mock.toString(), is("pippo"));
+      assertThat(mock.equals(mock), is(true));
+      assertThat(new MockUtil().isMock(mock), is(false));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void unstubbedExecution()
+    {
+      JMockito.proxy(Mockable.class).nonVoidMethod(12);
+    }
+
+    @Test
+    public void stubbedExecution()
+    {
+      Mockable mock = JMockito.proxy(Mockable.class);
+      JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      JMockito.when(mock).executes(Mockable::nextLong).thenAnswer(() -> 12L);
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+      assertThat(mock.nextLong(), is(12L));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void reset()
+    {
+      Mockable mock = JMockito.proxy(Mockable.class);
+      JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      JMockito.reset(mock);
+      mock.nonVoidMethod(12);
+    }
   }
 
   public class WhenTest
@@ -67,6 +131,244 @@ public class JMockitoTest
       when.runs(t -> t.voidMethod(13)).doNothing();
       mock.voidMethod(15);
     }
+
+    @Test
+    public void answeredExecution()
+    {
+      when.executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenAnswer((Integer n) -> "n" + n);
+      assertThat(mock.nonVoidMethod(12), is("n12"));
+      assertThat(mock.nonVoidMethod(14), is("n14"));
+    }
+
+    @Test
+    public void answerWithWrongArgumentType()
+    {
+      try
+      {
+        when.executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenAnswer((Answer1<String, String> & Serializable) s -> s);
+        fail();
+      }
+      catch (MockitoException e)
+      {
+        assertThat(e.getMessage(), is("answer to nonVoidMethod takes java.lang.String as argument 1, but nonVoidMethod passes java.lang.Integer"));
+      }
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void uncheckedAnswerWithWrongArgumentType()
+    {
+      when.executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenAnswer((String s) -> s);
+      mock.nonVoidMethod(12);
+    }
+
+    @Test
+    public void answerWithWrongArity()
+    {
+      try
+      {
+        when.executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenAnswer((Integer x, Integer y) -> "x");
+        fail();
+      }
+      catch (MockitoException e)
+      {
+        assertThat(e.getMessage(), is("answer to nonVoidMethod takes 2 arguments, but nonVoidMethod takes 1"));
+      }
+    }
+
+    @Test
+    public void answerImplementedByClass()
+    {
+      when.executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenAnswer(new Answer1<String, Number>()
+      {
+        public String answer(Number n)
+        {
+          return "n" + n;
+        }
+      });
+      assertThat(mock.nonVoidMethod(12), is("n12"));
+    }
+
+    @Test(expected = MockitoException.class)
+    public void answerImplementedByClassWithWrongArgumentType()
+    {
+      when.executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenAnswer(new Answer1<String, Long>()
+      {
+        public String answer(Long n)
+        {
+          return "n" + n;
+        }
+      });
+    }
+
+    @Test
+    public void answeredExecutionWithoutArguments()
+    {
+      when.executes(t -> t.nonVoidMethod(12)).thenAnswer(() -> "dodici");
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+    }
+
+    @Test
+    public void mockUsedWhileStubbing()
+    {
+      when.executes(t -> t.nonVoidMethod(13)).thenReturn("tredici");
+      when.executes(t ->
+      {
+        mock.nonVoidMethod(13);
+        return t.nonVoidMethod(12);
+      }).thenReturn("dodici");
+
+      assertThat(mock.nonVoidMethod(13), is("tredici"));
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+    }
+
+    @Test
+    public void stubbingWithoutInvocation()
+    {
+      try
+      {
+        when.executes(t -> "dodici").thenReturn("tredici");
+        fail();
+      }
+      catch (MockitoException e)
+      {
+        when.executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        assertThat(mock.nonVoidMethod(12), is("dodici"));
+      }
+    }
+
+    @Test
+    public void failedStubbing()
+    {
+      try
+      {
+        when.executes(t ->
+        {
+          Matchers.anyInt();
+          throw new IllegalStateException();
+        }).thenReturn("dodici");
+        fail();
+      }
+      catch (IllegalStateException e)
+      {
+        when.executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        assertThat(mock.nonVoidMethod(12), is("dodici"));
+      }
+    }
+
+    @Test
+    public void sequence()
+    {
+      when.executesInt(Mockable::nextInt).thenReturnSequence(1, 2, 3);
+      assertThat(IntStream.range(0, 3).map(n -> mock.nextInt()).boxed().collect(Collectors.toList()), is(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test(expected = MockitoException.class)
+    public void exhaustedSequence()
+    {
+      when.executesInt(Mockable::nextInt).thenReturnSequence(1, 2);
+      mock.nextInt();
+      mock.nextInt();
+      mock.nextInt();
+    }
+
+    @Test
+    public void primitiveExecution()
+    {
+      when.executesInt(Mockable::nextInt).thenReturn(5).executesLong(Mockable::nextLong).thenReturn(6L);
+      assertThat(mock.nextInt(), is(5));
+      assertThat(mock.nextLong(), is(6L));
+    }
+
+    @Test
+    public void sequenceFromStream()
+    {
+      when.executesLong(Mockable::nextLong).thenReturnSequence(LongStream.range(0, 1_000_000));
+      mock.nextLong();
+      assertThat(mock.nextLong(), is(1L));
+    }
+
+    @Test
+    public void sequenceFromSupplier()
+    {
+      AtomicInteger next = new AtomicInteger();
+      when.executes(t -> t.nonVoidMethod(12)).thenReturnSequence(() -> "n" + next.getAndIncrement());
+      mock.nonVoidMethod(12);
+      assertThat(mock.nonVoidMethod(12), is("n1"));
+    }
+
+    @Test(expected = MockitoException.class)
+    public void sequenceOfWrongType()
+    {
+      when.executesLong(Mockable::nextInt).thenReturnSequence(1L, 2L);
+    }
+
+    @Test
+    public void manyStubbedExecutions()
+    {
+      IntStream.range(0, 1000).forEach(n -> when.executes(t -> t.nonVoidMethod(n)).thenReturn(Integer.toString(n)));
+      assertThat(mock.nonVoidMethod(0), is("0"));
+      assertThat(mock.nonVoidMethod(999), is("999"));
+    }
+
+    @Test
+    public void restubbedExecution()
+    {
+      when.executes(t -> t.nonVoidMethod(12)).thenReturn("dodici").executes(t -> t.nonVoidMethod(12)).thenReturn("twelve");
+      assertThat(mock.nonVoidMethod(12), is("twelve"));
+    }
+
+    @Test
+    public void matcherStubbedAfterExactExecution()
+    {
+      when.executes(t -> t.nonVoidMethod(12)).thenReturn("dodici").executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenReturn("any");
+      assertThat(mock.nonVoidMethod(12), is("any"));
+    }
+
+    @Test
+    public void exactStubbedAfterMatcherExecution()
+    {
+      when.executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenReturn("any").executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+      assertThat(mock.nonVoidMethod(14), is("any"));
+    }
+  }
+
+  public class ExecutesEachTest
+  {
+    private Mockable mock;
+    private JMockito.When<Mockable> when;
+
+    @Before
+    public void setUp()
+    {
+      when = JMockito.when(mock = JMockito.mock(Mockable.class));
+    }
+
+    @Test
+    public void stubbedFromMap()
+    {
+      Map<Integer, String> results = new HashMap<>();
+      results.put(12, "dodici");
+      results.put(13, "tredici");
+      when.executesEach(Mockable::nonVoidMethod).thenReturn(results);
+      assertThat(mock.nonVoidMethod(13), is("tredici"));
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+    }
+
+    @Test
+    public void stubbedFromStream()
+    {
+      when.executesEach(Mockable::nonVoidMethod).thenReturn(IntStream.range(0, 1000).mapToObj(n -> new SimpleEntry<>(n, String.valueOf(n))));
+      assertThat(mock.nonVoidMethod(999), is("999"));
+      assertThat(mock.nonVoidMethod(0), is("0"));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void unstubbedExecution()
+    {
+      when.executesEach(Mockable::nonVoidMethod).thenReturn(Collections.singletonMap(12, "dodici"));
+      mock.nonVoidMethod(14);
+    }
   }
 
   public class ReturnValueTest
@@ -112,6 +414,13 @@ public class JMockitoTest
       assertThat(mock.nonVoidMethod(12), is("dodici"));
     }
 
+    @Test
+    public void answeredExecution()
+    {
+      given.executing(t -> t.nonVoidMethod(Matchers.anyInt())).thenAnswer((Integer n) -> "n" + n);
+      assertThat(mock.nonVoidMethod(12), is("n12"));
+    }
+
     @Test(expected = UnexpectedInvocationError.class)
     public void unstubbedExecution()
     {
@@ -119,6 +428,14 @@ public class JMockitoTest
       mock.nonVoidMethod(14);
     }
 
+    @Test
+    public void sequence()
+    {
+      given.executingLong(Mockable::nextLong).thenReturnSequence(LongStream.of(1, 2));
+      mock.nextLong();
+      assertThat(mock.nextLong(), is(2L));
+    }
+
     @Test
     public void stubbedRun()
     {
@@ -143,5 +460,123 @@ public class JMockitoTest
       JMockito.reset(mock);
       assertThat(mock.toString(), is("pippo"));
     }
+
+    @Test
+    public void preservesDefaultName()
+    {
+      Mockable mock = JMockito.mock(Mockable.class);
+      JMockito.reset(mock);
+      assertThat(mock.toString(), is("mockable"));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void removesStubbing()
+    {
+      Mockable mock = JMockito.mock(Mockable.class);
+      JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      JMockito.reset(mock);
+      mock.nonVoidMethod(12);
+    }
+  }
+
+  public class UnexpectedInvocationTest
+  {
+    private Mockable mock;
+
+    @Before
+    public void setUp()
+    {
+      mock = JMockito.mock(Mockable.class);
+    }
+
+    @Test
+    public void describesInvocation()
+    {
+      try
+      {
+        mock.nonVoidMethod(12);
+        fail();
+      }
+      catch (UnexpectedInvocationError e)
+      {
+        assertThat(e.getMessage(), is("unexpected invocation mockable.nonVoidMethod(12);"));
+        assertThat(e.getStackTrace().length > 0, is(true));
+      }
+    }
+
+    @Test
+    public void withoutStackTrace()
+    {
+      JMockito.captureLocations(mock, false);
+
+      try
+      {
+        mock.nonVoidMethod(12);
+        fail();
+      }
+      catch (UnexpectedInvocationError e)
+      {
+        assertThat(e.getMessage(), is("unexpected invocation mockable.nonVoidMethod(12);"));
+        assertThat(e.getStackTrace().length, is(0));
+      }
+    }
+  }
+
+  public class CaptureLocationsTest
+  {
+    private Service mock;
+
+    @Before
+    public void setUp()
+    {
+      mock = JMockito.mock(Service.class);
+      JMockito.captureLocations(mock, false);
+    }
+
+    private String firstLocation()
+    {
+      return new MockUtil().getMockHandler(mock).getInvocationContainer().getInvocations().get(0).getLocation().toString();
+    }
+
+    @Test
+    public void stubbedExecution()
+    {
+      JMockito.when(mock).executes(t -> t.call(12)).thenReturn("dodici");
+      assertThat(mock.call(12), is("dodici"));
+      assertThat(mock instanceof GeneratedMock, is(false));
+      assertThat(firstLocation(), is("-> at <<location not captured>>"));
+    }
+
+    @Test
+    public void describesInvocation()
+    {
+      try
+      {
+        mock.call(12);
+        fail();
+      }
+      catch (UnexpectedInvocationError e)
+      {
+        assertThat(e.getMessage(), is("unexpected invocation service.call(12);"));
+      }
+    }
+
+    @Test
+    public void capturedByDefault()
+    {
+      Service capturing = JMockito.mock(Service.class);
+      JMockito.when(capturing).executes(t -> t.call(12)).thenReturn("dodici");
+      capturing.call(12);
+      assertThat(new MockUtil().getMockHandler(capturing).getInvocationContainer().getInvocations().get(0).getLocation().toString(), not(is("-> at <<location not captured>>")));
+    }
+
+    @Test
+    public void notCapturedAfterReset()
+    {
+      JMockito.reset(mock);
+      JMockito.when(mock).executes(t -> t.call(12)).thenReturn("dodici");
+      mock.call(12);
+      assertThat(firstLocation(), is("-> at <<location not captured>>"));
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.internal.util.MockUtil;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Nested.class)
+public class MockCacheTest
+{
+  private MockCache mockCache;
+
+  @Before
+  public void setUp()
+  {
+    mockCache = new MockCache(1);
+  }
+
+  public class MockTest
+  {
+    @Test
+    public void firstMockIsAMiss()
+    {
+      mockCache.mock(Mockable.class, null);
+      assertThat(mockCache.misses(), is(1L));
+      assertThat(mockCache.hits(), is(0L));
+    }
+
+    @Test
+    public void nextMocksAreHits()
+    {
+      mockCache.mock(Mockable.class, null);
+      mockCache.mock(Mockable.class, "pippo");
+      mockCache.mock(Mockable.class, null);
+      assertThat(mockCache.misses(), is(1L));
+      assertThat(mockCache.hits(), is(2L));
+    }
+
+    @Test
+    public void mockitoMocksWithoutGeneratedClass()
+    {
+      Mockable mock = mockCache.mock(Mockable.class, null);
+      assertThat(mock instanceof GeneratedMock, is(false));
+      assertThat(new MockUtil().isMock(mock), is(true));
+    }
+
+    @Test
+    public void cachedMocksAreDistinct()
+    {
+      Mockable mock1 = mockCache.mock(Mockable.class, null);
+      Mockable mock2 = mockCache.mock(Mockable.class, null);
+      assertThat(mock1, not(sameInstance(mock2)));
+      assertThat(mock1.getClass(), sameInstance(mock2.getClass()));
+    }
+
+    @Test
+    public void cachedMocksAreIndependentlyStubbed()
+    {
+      Mockable mock1 = mockCache.mock(Mockable.class, null);
+      Mockable mock2 = mockCache.mock(Mockable.class, null);
+      JMockito.when(mock1).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      JMockito.when(mock2).executes(t -> t.nonVoidMethod(12)).thenReturn("twelve");
+      assertThat(mock1.nonVoidMethod(12), is("dodici"));
+      assertThat(mock2.nonVoidMethod(12), is("twelve"));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void cachedMocksAreStrict()
+    {
+      mockCache.mock(Mockable.class, null);
+      mockCache.mock(Mockable.class, null).nonVoidMethod(12);
+    }
+
+    @Test
+    public void cachedMocksKeepTheirNames()
+    {
+      mockCache.mock(Mockable.class, "pippo1");
+      Mockable mock = mockCache.mock(Mockable.class, "pippo2");
+      assertThat(new MockUtil().getMockName(mock).toString(), is("pippo2"));
+      assertThat(mock.toString(), is("pippo2"));
+    }
+
+    @Test
+    public void cachedMocksKeepTheirDefaultNames()
+    {
+      mockCache.mock(Mockable.class, "pippo");
+      Mockable mock = mockCache.mock(Mockable.class, null);
+      assertThat(new MockUtil().getMockName(mock).isDefault(), is(true));
+      assertThat(mock.toString(), is("mockable"));
+    }
+
+    @Test
+    public void firstMockIsNotRetained() throws InterruptedException
+    {
+      WeakReference<Mockable> mock = new WeakReference<>(stubbedMock());
+      mockCache.mock(Mockable.class, null).toString();
+
+      for (int i = 0; i < 50 && mock.get() != null; i++)
+      {
+        System.gc();
+        Thread.sleep(10);
+      }
+
+      assertThat(mock.get() == null, is(true));
+    }
+
+    private Mockable stubbedMock()
+    {
+      Mockable mock = mockCache.mock(Mockable.class, null);
+      JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+      return mock;
+    }
+  }
+
+  public class CapacityTest
+  {
+    @Test
+    public void evictsBeyondCapacity()
+    {
+      mockCache.mock(Mockable.class, null);
+      mockCache.mock(Runnable.class, null);
+      assertThat(mockCache.size(), is(1));
+      mockCache.mock(Mockable.class, null);
+      assertThat(mockCache.misses(), is(3L));
+    }
+
+    @Test
+    public void evictsEldest()
+    {
+      MockCache mockCache = new MockCache(2);
+      mockCache.mock(Mockable.class, null);
+      mockCache.mock(Runnable.class, null);
+      mockCache.mock(Callable.class, null);
+      mockCache.mock(Runnable.class, null);
+      mockCache.mock(Callable.class, null);
+      assertThat(mockCache.misses(), is(3L));
+      mockCache.mock(Mockable.class, null);
+      assertThat(mockCache.misses(), is(4L));
+      assertThat(mockCache.size(), is(2));
+    }
+
+    @Test
+    public void clear()
+    {
+      mockCache.mock(Mockable.class, null);
+      mockCache.clear();
+      mockCache.mock(Mockable.class, null);
+      assertThat(mockCache.size(), is(1));
+      assertThat(mockCache.misses(), is(2L));
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Nested.class)
+public class MockPoolTest
+{
+  private MockPool pool;
+
+  @Before
+  public void setUp()
+  {
+    pool = new MockPool(2);
+  }
+
+  public class AcquireTest
+  {
+    @Test
+    public void emptyPool()
+    {
+      Mockable mock = pool.acquire(Mockable.class, "pippo");
+      assertThat(mock.toString(), is("pippo"));
+      assertThat(pool.misses(), is(1L));
+      assertThat(pool.hits(), is(0L));
+    }
+
+    @Test
+    public void recycles()
+    {
+      Mockable mock = pool.acquire(Mockable.class, null);
+      pool.release(mock);
+      assertThat(pool.acquire(Mockable.class, null), sameInstance(mock));
+      assertThat(pool.hits(), is(1L));
+      assertThat(pool.size(), is(0));
+    }
+
+    @Test
+    public void byName()
+    {
+      Mockable mock = pool.acquire(Mockable.class, "pippo1");
+      pool.release(mock);
+      assertThat(pool.acquire(Mockable.class, "pippo2"), not(sameInstance(mock)));
+      assertThat(pool.acquire(Mockable.class, null), not(sameInstance(mock)));
+      assertThat(pool.acquire(Mockable.class, "pippo1"), sameInstance(mock));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void recycledMocksAreCleared()
+    {
+      Mockable mock = pool.acquire(Mockable.class, null);
+      JMockito.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      pool.release(mock);
+      pool.acquire(Mockable.class, null).nonVoidMethod(12);
+    }
+  }
+
+  public class ReleaseTest
+  {
+    @Test
+    public void evictsEldest()
+    {
+      Mockable mock1 = pool.acquire(Mockable.class, null);
+      Mockable mock2 = pool.acquire(Mockable.class, null);
+      Mockable mock3 = pool.acquire(Mockable.class, null);
+      pool.release(mock1);
+      pool.release(mock2);
+      pool.release(mock3);
+      assertThat(pool.size(), is(2));
+      assertThat(pool.evictions(), is(1L));
+      assertThat(pool.acquire(Mockable.class, null), sameInstance(mock3));
+      assertThat(pool.acquire(Mockable.class, null), sameInstance(mock2));
+    }
+
+    @Test
+    public void evictsByLatestRelease()
+    {
+      Mockable mock1 = pool.acquire(Mockable.class, null);
+      Mockable mock2 = pool.acquire(Mockable.class, null);
+      Mockable mock3 = pool.acquire(Mockable.class, null);
+      pool.release(mock1);
+      assertThat(pool.acquire(Mockable.class, null), sameInstance(mock1));
+      pool.release(mock2);
+      pool.release(mock3);
+      pool.release(mock1);
+      assertThat(pool.evictions(), is(1L));
+      assertThat(pool.acquire(Mockable.class, null), sameInstance(mock1));
+      assertThat(pool.acquire(Mockable.class, null), sameInstance(mock3));
+      assertThat(pool.size(), is(0));
+    }
+
+    @Test
+    public void concurrently()
+    {
+      IntStream.range(0, 1000).parallel().forEach(n -> pool.release(pool.acquire(Mockable.class, null)));
+      assertThat(pool.size() <= 2, is(true));
+      assertThat(pool.hits() + pool.misses(), is(1000L));
+    }
+
+    @Test
+    public void clear()
+    {
+      pool.release(pool.acquire(Mockable.class, null));
+      pool.clear();
+      assertThat(pool.size(), is(0));
+    }
+  }
+}
\ No newline at end of file
@@ -5,4 +5,8 @@ interface Mockable
   String nonVoidMethod(int n);
 
   void voidMethod(int n);
+
+  int nextInt();
+
+  long nextLong();
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.Test;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+import org.junit.runner.RunWith;
+import org.mockito.exceptions.verification.NeverWantedButInvoked;
+import org.mockito.exceptions.verification.NoInteractionsWanted;
+import org.mockito.exceptions.verification.WantedButNotInvoked;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Nested.class)
+public class MockeryExtensionTest
+{
+  private static Events run(Class<?> sample)
+  {
+    return EngineTestKit.engine("junit-jupiter").selectors(DiscoverySelectors.selectClass(sample)).execute().testEvents();
+  }
+
+  private static Throwable failure(Class<?> sample)
+  {
+    return run(sample).failed().stream().findFirst().flatMap(event -> event.getPayload(TestExecutionResult.class)).flatMap(TestExecutionResult::getThrowable).orElse(null);
+  }
+
+  public class PerClassTest
+  {
+    @Test
+    public void classMocksAreBuiltOnce()
+    {
+      PerClassSample.instances = 0;
+      assertThat(run(PerClassSample.class).succeeded().count(), is(3L));
+      assertThat(PerClassSample.instances, is(1));
+    }
+  }
+
+  public class VerificationTest
+  {
+    @Test
+    public void moreStubbingThanStrictlyNeeded()
+    {
+      assertThat(failure(UnusedStubbingSample.class), instanceOf(WantedButNotInvoked.class));
+    }
+
+    @Test
+    public void unexpectedInvocation()
+    {
+      assertThat(failure(UnexpectedInvocationSample.class), instanceOf(NeverWantedButInvoked.class));
+    }
+
+    @Test
+    public void swallowedUnexpectedInvocation()
+    {
+      assertThat(failure(SwallowedInvocationSample.class), instanceOf(NoInteractionsWanted.class));
+    }
+  }
+
+  @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+  @TestMethodOrder(MethodOrderer.MethodName.class)
+  static class PerClassSample
+  {
+    static int instances;
+
+    @RegisterExtension
+    final MockeryExtension mockery = new MockeryExtension();
+    private final Mockable mock = mockery.mock(Mockable.class);
+
+    PerClassSample()
+    {
+      instances++;
+      mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+    }
+
+    @org.junit.jupiter.api.Test
+    void first()
+    {
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void second()
+    {
+      mockery.when(mock).runs(t -> t.voidMethod(13)).doNothing();
+      mock.voidMethod(13);
+    }
+
+    @org.junit.jupiter.api.Test
+    void third()
+    {
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+    }
+  }
+
+  static class UnusedStubbingSample
+  {
+    @RegisterExtension
+    final MockeryExtension mockery = new MockeryExtension();
+
+    @org.junit.jupiter.api.Test
+    void test()
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+    }
+  }
+
+  static class UnexpectedInvocationSample
+  {
+    @RegisterExtension
+    final MockeryExtension mockery = new MockeryExtension();
+
+    @org.junit.jupiter.api.Test
+    void test()
+    {
+      mockery.mock(Mockable.class).voidMethod(13);
+    }
+  }
+
+  static class SwallowedInvocationSample
+  {
+    @RegisterExtension
+    final MockeryExtension mockery = new MockeryExtension();
+
+    @org.junit.jupiter.api.Test
+    void test()
+    {
+      try
+      {
+        mockery.mock(Mockable.class).voidMethod(13);
+      }
+      catch (UnexpectedInvocationError e)
+      {
+        // swallowed by the code under test
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -5,9 +5,25 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.model.Statement;
+import org.mockito.internal.util.MockUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 @RunWith(Nested.class)
 public class MockeryTest
@@ -20,6 +36,34 @@ public class MockeryTest
     mockery = new Mockery();
   }
 
+  static void evaluate(Mockery mockery, Runnable test) throws Throwable
+  {
+    mockery.apply(new Statement()
+    {
+      public void evaluate() throws Throwable
+      {
+        test.run();
+      }
+    }, null).evaluate();
+  }
+
+  static void swallow(Runnable runnable)
+  {
+    try
+    {
+      runnable.run();
+    }
+    catch (UnexpectedInvocationError e)
+    {
+      // swallowed by the code under test
+    }
+  }
+
+  private void evaluate(Runnable test) throws Throwable
+  {
+    evaluate(mockery, test);
+  }
+
   public class MockTest
   {
     @Test
@@ -146,6 +190,13 @@ public class MockeryTest
       assertThat(mock.nonVoidMethod(12), is("dodici"));
     }
 
+    @Test
+    public void answeredExecution()
+    {
+      given.executing(t -> t.nonVoidMethod(Matchers.anyInt())).thenAnswer((Integer n) -> "n" + n);
+      assertThat(mock.nonVoidMethod(12), is("n12"));
+    }
+
     @Test(expected = UnexpectedInvocationError.class)
     public void unstubbedExecution()
     {
@@ -153,6 +204,14 @@ public class MockeryTest
       mock.nonVoidMethod(14);
     }
 
+    @Test
+    public void sequence()
+    {
+      given.executingInt(Mockable::nextInt).thenReturnSequence(1, 2);
+      mock.nextInt();
+      assertThat(mock.nextInt(), is(2));
+    }
+
     @Test
     public void stubbedRun()
     {
@@ -231,6 +290,236 @@ public class MockeryTest
       mockery.apply(statement, null).evaluate();
     }
 
+    @Test(expected = org.mockito.exceptions.verification.WantedButNotInvoked.class)
+    public void unusedAnswer() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+          mockery.when(mock).executes(t -> t.nonVoidMethod(13)).thenAnswer((Integer n) -> "n" + n);
+
+          mock.nonVoidMethod(12);
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test
+    public void sequence() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executesInt(Mockable::nextInt).thenReturnSequence(1, 2, 3);
+
+          mock.nextInt();
+          mock.nextInt();
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.TooLittleActualInvocations.class)
+    public void sequenceNotConsumed() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executesInt(Mockable::nextInt).thenReturnSequence(1, 2, 3);
+
+          mock.nextInt();
+          mock.nextInt();
+        }
+      };
+
+      mockery.verifySequencesConsumed().apply(statement, null).evaluate();
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.TooManyActualInvocations.class)
+    public void sequenceExhausted() throws Throwable
+    {
+      evaluate(() ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executesInt(Mockable::nextInt).thenReturnSequence(1, 2);
+
+        mock.nextInt();
+        mock.nextInt();
+
+        try
+        {
+          mock.nextInt();
+          fail();
+        }
+        catch (org.mockito.exceptions.base.MockitoException e)
+        {
+          // swallowed by the code under test
+        }
+      });
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.WantedButNotInvoked.class)
+    public void unusedSequence() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(Mockable::nextInt).thenReturnSequence(() -> 1);
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test
+    public void reportsEveryUnusedStubbing() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+          mockery.when(mock).executes(t -> t.nonVoidMethod(13)).thenReturn("tredici");
+          mockery.when(mock).runs(t -> t.voidMethod(14)).doNothing();
+
+          mock.nonVoidMethod(13);
+        }
+      };
+
+      try
+      {
+        mockery.apply(statement, null).evaluate();
+        fail();
+      }
+      catch (org.mockito.exceptions.verification.WantedButNotInvoked e)
+      {
+        assertThat(e.getMessage(), containsString("1. mockable.nonVoidMethod(12);"));
+        assertThat(e.getMessage(), containsString("2. mockable.voidMethod(14);"));
+        assertThat(e.getMessage(), not(containsString("nonVoidMethod(13)")));
+      }
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.TooManyActualInvocations.class)
+    public void stubbingUsedMoreThanOnce() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+          mock.nonVoidMethod(12);
+          mock.nonVoidMethod(12);
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void swallowedUnexpectedInvocation() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+          mock.nonVoidMethod(12);
+
+          try
+          {
+            mock.voidMethod(13);
+          }
+          catch (UnexpectedInvocationError e)
+          {
+            // swallowed by the code under test
+          }
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test
+    public void manyStubbings() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+
+          for (int i = 0; i < 500; i++)
+          {
+            int n = i;
+            mockery.when(mock).executes(t -> t.nonVoidMethod(n)).thenReturn(String.valueOf(n));
+          }
+
+          for (int i = 499; i >= 0; i--)
+          {
+            assertThat(mock.nonVoidMethod(i), is(String.valueOf(i)));
+          }
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test
+    public void batchStubbing() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executesEach(Mockable::nonVoidMethod).thenReturn(IntStream.range(0, 500).mapToObj(n -> new SimpleEntry<>(n, String.valueOf(n))));
+
+          for (int i = 499; i >= 0; i--)
+          {
+            assertThat(mock.nonVoidMethod(i), is(String.valueOf(i)));
+          }
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.WantedButNotInvoked.class)
+    public void moreBatchStubbingThanStrictlyNeeded() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          Map<Integer, String> results = new HashMap<>();
+          results.put(12, "dodici");
+          results.put(13, "tredici");
+          mockery.when(mock).executesEach(Mockable::nonVoidMethod).thenReturn(results);
+
+          mock.nonVoidMethod(12);
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
     @Test(expected = CustomThrowable.class)
     public void customThrowable() throws Throwable
     {
@@ -245,23 +534,708 @@ public class MockeryTest
       mockery.apply(statement, null).evaluate();
     }
 
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void unexpectedInvocationOnFirstRegisteredMock() throws Throwable
+    {
+      evaluate(() ->
+      {
+        Mockable mock1 = mockery.mock(Mockable.class);
+        Mockable mock2 = mockery.mock(Mockable.class);
+        mockery.when(mock1).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        mockery.when(mock2).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+        mock1.nonVoidMethod(12);
+        swallow(() -> mock1.voidMethod(13));
+      });
+    }
+
     private final class CustomThrowable extends Throwable
     {
     }
   }
 
-  public class ResetTest
+  public class ParallelApplyTest
+  {
+    @Before
+    public void setUp()
+    {
+      mockery.verifyInParallel();
+    }
+
+    @Test
+    public void onlyStrictlyNeededStubbing() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          for (int i = 0; i < 20; i++)
+          {
+            Mockable mock = mockery.mock(Mockable.class);
+            mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+            mockery.doNothing().when(mock).runs(t -> t.voidMethod(13));
+
+            mock.nonVoidMethod(12);
+            mock.voidMethod(13);
+          }
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.WantedButNotInvoked.class)
+    public void firstRegisteredMockFailsFirst() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock1 = mockery.mock(Mockable.class);
+          Mockable mock2 = mockery.mock(Mockable.class);
+          mockery.when(mock2).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+          mockery.when(mock1).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+          swallow(() -> mock2.voidMethod(13));
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void unexpectedInvocationOnFirstRegisteredMock() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock1 = mockery.mock(Mockable.class);
+          Mockable mock2 = mockery.mock(Mockable.class);
+          mockery.when(mock1).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+          mockery.when(mock2).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+          mock1.nonVoidMethod(12);
+          swallow(() -> mock1.voidMethod(13));
+        }
+      };
+
+      mockery.apply(statement, null).evaluate();
+    }
+  }
+
+  public class PoolTest
   {
+    private MockPool pool;
+
+    @Before
+    public void setUp()
+    {
+      mockery.usePool(pool = new MockPool(10));
+    }
+
     @Test
-    public void preservesNames()
+    public void recyclesMocksAcrossEvaluations() throws Throwable
     {
-      Mockable mock1 = mockery.mock(Mockable.class, "pippo1");
-      Mockable mock2 = mockery.mock(Mockable.class, "pippo2");
+      Mockable[] mocks = new Mockable[2];
 
-      mockery.reset();
+      for (int i = 0; i < mocks.length; i++)
+      {
+        int evaluation = i;
+        Statement statement = new Statement()
+        {
+          public void evaluate() throws Throwable
+          {
+            Mockable mock = mocks[evaluation] = mockery.mock(Mockable.class);
+            mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
 
-      assertThat(mock1.toString(), is("pippo1"));
-      assertThat(mock2.toString(), is("pippo2"));
+            mock.nonVoidMethod(12);
+          }
+        };
+
+        mockery.apply(statement, null).evaluate();
+      }
+
+      assertThat(mocks[1], sameInstance(mocks[0]));
+      assertThat(pool.hits(), is(1L));
+      assertThat(pool.size(), is(1));
+    }
+
+    @Test
+    public void releasesMocksOnFailure() throws Throwable
+    {
+      Statement statement = new Statement()
+      {
+        public void evaluate() throws Throwable
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        }
+      };
+
+      try
+      {
+        mockery.apply(statement, null).evaluate();
+        fail();
+      }
+      catch (org.mockito.exceptions.verification.WantedButNotInvoked e)
+      {
+        assertThat(pool.size(), is(1));
+      }
+    }
+  }
+
+  public class RecordHitsOnlyTest
+  {
+    @Before
+    public void setUp()
+    {
+      mockery.recordHitsOnly();
+    }
+
+    @Test
+    public void keepsNoInvocations() throws Throwable
+    {
+      evaluate(() ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executesEach(Mockable::nonVoidMethod).thenReturn(IntStream.range(0, 1000).mapToObj(n -> new SimpleEntry<>(n, String.valueOf(n))));
+
+        for (int i = 0; i < 1000; i++)
+        {
+          assertThat(mock.nonVoidMethod(i), is(String.valueOf(i)));
+        }
+
+        assertThat(new MockUtil().getMockHandler(mock).getInvocationContainer().getInvocations().isEmpty(), is(true));
+      });
+    }
+
+    @Test
+    public void classStubbingIsKeptAcrossEvaluations() throws Throwable
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+      for (int i = 0; i < 3; i++)
+      {
+        evaluate(() ->
+        {
+          mockery.when(mock).runs(t -> t.voidMethod(13)).doNothing();
+          mock.voidMethod(13);
+          assertThat(mock.nonVoidMethod(12), is("dodici"));
+          assertThat(mock.nonVoidMethod(12), is("dodici"));
+        });
+      }
+    }
+  }
+
+  public class UseProxiesTest
+  {
+    @Before
+    public void setUp()
+    {
+      mockery.useProxies();
+    }
+
+    @Test
+    public void stubbedInvocations() throws Throwable
+    {
+      evaluate(() ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        mockery.when(mock).executesInt(Mockable::nextInt).thenReturnSequence(1, 2);
+        mockery.when(mock).runs(t -> t.voidMethod(13)).doNothing();
+
+        assertThat(new MockUtil().isMock(mock), is(false));
+        assertThat(mock.nonVoidMethod(12), is("dodici"));
+        assertThat(mock.nextInt() + mock.nextInt(), is(3));
+        mock.voidMethod(13);
+      });
+    }
+
+    @Test
+    public void proxiesNotCreatedByTheMockery() throws Throwable
+    {
+      Mockable mock = JMockito.proxy(Mockable.class);
+      evaluate(() ->
+      {
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        assertThat(mock.nonVoidMethod(12), is("dodici"));
+      });
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void resetKeepsRecording() throws Throwable
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+
+      mockery.reset();
+
+      evaluate(() -> swallow(() -> mock.voidMethod(13)));
+    }
+  }
+
+  public class BackendTest
+  {
+    private final Map<String, Consumer<Mockery>> backends = new LinkedHashMap<>();
+
+    @Before
+    public void setUp()
+    {
+      backends.clear();
+      backends.put("invocation container", backend -> {});
+      backends.put("hits only", Mockery::recordHitsOnly);
+      backends.put("proxies", Mockery::useProxies);
+    }
+
+    private void failsOnEveryBackend(Class<? extends Throwable> expected, Consumer<Mockery> test) throws Throwable
+    {
+      for (Map.Entry<String, Consumer<Mockery>> backend : backends.entrySet())
+      {
+        Mockery mockery = new Mockery();
+        backend.getValue().accept(mockery);
+
+        try
+        {
+          evaluate(mockery, () -> test.accept(mockery));
+          fail(backend.getKey() + " did not fail");
+        }
+        catch (Throwable e)
+        {
+          if (!expected.isInstance(e))
+          {
+            throw e;
+          }
+        }
+      }
+    }
+
+    private void passesOnEveryBackend(Consumer<Mockery> test) throws Throwable
+    {
+      for (Consumer<Mockery> backend : backends.values())
+      {
+        Mockery mockery = new Mockery();
+        backend.accept(mockery);
+        evaluate(mockery, () -> test.accept(mockery));
+      }
+    }
+
+    @Test
+    public void moreStubbingThanStrictlyNeeded() throws Throwable
+    {
+      failsOnEveryBackend(org.mockito.exceptions.verification.WantedButNotInvoked.class, mockery ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        mockery.when(mock).runs(t -> t.voidMethod(13)).doNothing();
+
+        mock.nonVoidMethod(12);
+      });
+    }
+
+    @Test
+    public void stubbingUsedMoreThanOnce() throws Throwable
+    {
+      failsOnEveryBackend(org.mockito.exceptions.verification.TooManyActualInvocations.class, mockery ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+        mock.nonVoidMethod(12);
+        mock.nonVoidMethod(12);
+      });
+    }
+
+    @Test
+    public void swallowedUnexpectedInvocation() throws Throwable
+    {
+      failsOnEveryBackend(org.mockito.exceptions.verification.NoInteractionsWanted.class, mockery ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+
+        try
+        {
+          mock.nonVoidMethod(12);
+        }
+        catch (UnexpectedInvocationError e)
+        {
+          assertThat(e.getMessage(), is("unexpected invocation mockable.nonVoidMethod(12);"));
+        }
+      });
+    }
+
+    @Test
+    public void overriddenMatchingStubbingIsUsed() throws Throwable
+    {
+      passesOnEveryBackend(mockery ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executes(t -> t.nonVoidMethod(Matchers.anyInt())).thenReturn("any");
+        mockery.when(mock).executes(t -> t.nonVoidMethod(1)).thenReturn("one");
+
+        assertThat(mock.nonVoidMethod(1), is("one"));
+      });
+    }
+
+    @Test
+    public void repeatedStubbingIsUsed() throws Throwable
+    {
+      passesOnEveryBackend(mockery ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executes(t -> t.nonVoidMethod(1)).thenReturn("uno");
+        mockery.when(mock).executes(t -> t.nonVoidMethod(1)).thenReturn("one");
+
+        assertThat(mock.nonVoidMethod(1), is("one"));
+      });
+    }
+  }
+
+  public class SkipLocationsTest
+  {
+    @Test
+    public void classMocksSkipLocationsInEveryEvaluation() throws Throwable
+    {
+      mockery.skipLocations();
+      Mockable mock = mockery.mock(Mockable.class);
+      mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+      for (int i = 0; i < 2; i++)
+      {
+        mockery.apply(new Statement()
+        {
+          public void evaluate() throws Throwable
+          {
+            assertThat(mock.nonVoidMethod(12), is("dodici"));
+            assertThat(new MockUtil().getMockHandler(mock).getInvocationContainer().getInvocations().get(0).getLocation().toString(), is("-> at <<location not captured>>"));
+          }
+        }, null).evaluate();
+      }
+    }
+
+    @Test
+    public void unexpectedInvocationsWithoutStackTrace()
+    {
+      mockery.skipLocations();
+      Mockable mock = mockery.mock(Mockable.class);
+
+      try
+      {
+        mock.voidMethod(13);
+        fail();
+      }
+      catch (UnexpectedInvocationError e)
+      {
+        assertThat(e.getStackTrace().length, is(0));
+      }
+
+      try
+      {
+        new Mockery().mock(Mockable.class).voidMethod(13);
+        fail();
+      }
+      catch (UnexpectedInvocationError e)
+      {
+        assertThat(e.getStackTrace().length > 0, is(true));
+      }
+    }
+
+    @Test
+    public void resetKeepsSkippingLocations() throws Throwable
+    {
+      mockery.skipLocations();
+      Mockable mock = mockery.mock(Mockable.class);
+
+      mockery.reset();
+
+      evaluate(() ->
+      {
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        assertThat(mock.nonVoidMethod(12), is("dodici"));
+        assertThat(new MockUtil().getMockHandler(mock).getInvocationContainer().getInvocations().get(0).getLocation().toString(), is("-> at <<location not captured>>"));
+      });
+    }
+  }
+
+  public class ScopeTest
+  {
+    @Test
+    public void testMocksAreForgottenAfterEvaluation() throws Throwable
+    {
+      Mockable[] mock = new Mockable[1];
+      evaluate(() -> mock[0] = mockery.mock(Mockable.class));
+      evaluate(() -> swallow(() -> mock[0].voidMethod(13)));
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void classMocksAreVerifiedInEveryEvaluation() throws Throwable
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      evaluate(() ->
+      {
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        mock.nonVoidMethod(12);
+      });
+      evaluate(() -> swallow(() -> mock.voidMethod(13)));
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void explicitClassMocks() throws Throwable
+    {
+      Mockable[] mock = new Mockable[1];
+      evaluate(() -> mock[0] = mockery.classMock(Mockable.class));
+      evaluate(() -> swallow(() -> mock[0].voidMethod(13)));
+    }
+
+    @Test
+    public void classStubbingIsKeptAcrossEvaluations() throws Throwable
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+
+      for (int i = 0; i < 3; i++)
+      {
+        evaluate(() ->
+        {
+          assertThat(mock.nonVoidMethod(12), is("dodici"));
+          assertThat(mock.nonVoidMethod(12), is("dodici"));
+        });
+        assertThat(new MockUtil().getMockHandler(mock).getInvocationContainer().getInvocations().isEmpty(), is(true));
+      }
+    }
+
+    @Test
+    public void classStubbingOverriddenInEvaluation() throws Throwable
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      evaluate(() ->
+      {
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("twelve");
+        assertThat(mock.nonVoidMethod(12), is("twelve"));
+      });
+      evaluate(() -> assertThat(mock.nonVoidMethod(12), is("dodici")));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void classMockStubbingInEvaluationIsDropped() throws Throwable
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      evaluate(() ->
+      {
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        mock.nonVoidMethod(12);
+      });
+      mock.nonVoidMethod(12);
+    }
+  }
+
+  public class SnapshotTest
+  {
+    private Mockable mock;
+    private Mockery.Snapshot snapshot;
+
+    @Before
+    public void setUp()
+    {
+      mock = null;
+      snapshot = null;
+    }
+
+    private void evaluate(Runnable test) throws Throwable
+    {
+      MockeryTest.evaluate(mockery, () ->
+      {
+        if (snapshot == null)
+        {
+          mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+          mockery.when(mock).executesInt(Mockable::nextInt).thenReturnSequence(1, 2);
+          snapshot = mockery.snapshot();
+        }
+        else
+        {
+          mockery.restore(snapshot);
+        }
+
+        test.run();
+      });
+    }
+
+    private void fixtureUsed()
+    {
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+      assertThat(mock.nextInt(), is(1));
+    }
+
+    @Test
+    public void restoresStubbingAcrossEvaluations() throws Throwable
+    {
+      for (int i = 0; i < 3; i++)
+      {
+        evaluate(this::fixtureUsed);
+      }
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.WantedButNotInvoked.class)
+    public void restoredStubbingIsVerified() throws Throwable
+    {
+      evaluate(this::fixtureUsed);
+      evaluate(() -> assertThat(mock.nextInt(), is(1)));
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.TooManyActualInvocations.class)
+    public void restoredExpectationsAreCountedAgain() throws Throwable
+    {
+      evaluate(this::fixtureUsed);
+      evaluate(() ->
+      {
+        fixtureUsed();
+        mock.nonVoidMethod(12);
+      });
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void stubbingAddedAfterRestoreIsDiscarded() throws Throwable
+    {
+      evaluate(this::fixtureUsed);
+      evaluate(() ->
+      {
+        mockery.when(mock).executes(t -> t.nonVoidMethod(14)).thenReturn("quattordici");
+        fixtureUsed();
+        assertThat(mock.nonVoidMethod(14), is("quattordici"));
+      });
+      evaluate(() ->
+      {
+        fixtureUsed();
+
+        try
+        {
+          mock.nonVoidMethod(14);
+          fail();
+        }
+        catch (UnexpectedInvocationError e)
+        {
+          assertThat(e.getMessage(), is("unexpected invocation mockable.nonVoidMethod(14);"));
+        }
+      });
+    }
+
+    @Test
+    public void pooledMocksAreKeptBySnapshot() throws Throwable
+    {
+      MockPool pool = new MockPool(10);
+      mockery.usePool(pool);
+      evaluate(this::fixtureUsed);
+      evaluate(this::fixtureUsed);
+      assertThat(pool.size(), is(0));
+    }
+
+    @Test
+    public void restoresProxies() throws Throwable
+    {
+      mockery.useProxies();
+      evaluate(this::fixtureUsed);
+      evaluate(this::fixtureUsed);
+      assertThat(new MockUtil().isMock(mock), is(false));
+    }
+  }
+
+  public class ReportAtMostTest
+  {
+    private void manyUnexpectedInvocations()
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+      mock.nonVoidMethod(12);
+
+      for (int i = 0; i < 1000; i++)
+      {
+        int n = i;
+        swallow(() -> mock.voidMethod(n));
+      }
+    }
+
+    @Test
+    public void summarizesUnexpectedInvocations() throws Throwable
+    {
+      mockery.reportAtMost(2);
+
+      try
+      {
+        evaluate(this::manyUnexpectedInvocations);
+        fail();
+      }
+      catch (org.mockito.exceptions.verification.NoInteractionsWanted e)
+      {
+        assertThat(e.getMessage(), containsString("But found 1000 unexpected interactions on mock 'mockable', out of 1001:\n"));
+        assertThat(e.getMessage(), containsString("  nonVoidMethod: 1 invocations, 0 unexpected\n  voidMethod: 1000 invocations, 1000 unexpected\n"));
+        assertThat(e.getMessage(), containsString("First unexpected interactions:\n1. mockable.voidMethod(0);\n"));
+        assertThat(e.getMessage(), containsString("\n2. mockable.voidMethod(1);\n"));
+        assertThat(e.getMessage(), containsString("Last unexpected interactions:\n999. mockable.voidMethod(998);\n"));
+        assertThat(e.getMessage(), containsString("\n1000. mockable.voidMethod(999);\n"));
+        assertThat(e.getMessage(), not(containsString("mockable.voidMethod(2);")));
+      }
+    }
+
+    @Test
+    public void dumpsAllInvocations() throws Throwable
+    {
+      Path directory = Files.createTempDirectory("jmockito");
+      mockery.reportAtMost(0, directory);
+
+      try
+      {
+        evaluate(this::manyUnexpectedInvocations);
+        fail();
+      }
+      catch (org.mockito.exceptions.verification.NoInteractionsWanted e)
+      {
+        assertThat(e.getMessage(), not(containsString("unexpected interactions:")));
+
+        try (Stream<Path> files = Files.list(directory))
+        {
+          Path dump = files.findFirst().orElseThrow(AssertionError::new);
+          List<String> lines = Files.readAllLines(dump);
+
+          assertThat(e.getMessage(), containsString("written to " + dump));
+          assertThat(lines.size(), is(1001));
+          assertThat(lines.get(0), containsString("  mockable.nonVoidMethod(12); -> at "));
+          assertThat(lines.get(1000), containsString("? mockable.voidMethod(999); -> at "));
+          Files.delete(dump);
+        }
+      }
+      finally
+      {
+        Files.delete(directory);
+      }
+    }
+  }
+
+  public class ResetTest
+  {
+    @Test
+    public void preservesNames()
+    {
+      Mockable mock1 = mockery.mock(Mockable.class, "pippo1");
+      Mockable mock2 = mockery.mock(Mockable.class, "pippo2");
+
+      mockery.reset();
+
+      assertThat(mock1.toString(), is("pippo1"));
+      assertThat(mock2.toString(), is("pippo2"));
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.NoInteractionsWanted.class)
+    public void keepsRecordingHitsOnly() throws Throwable
+    {
+      mockery.recordHitsOnly();
+      Mockable mock = mockery.mock(Mockable.class);
+
+      mockery.reset();
+
+      evaluate(() -> swallow(() -> mock.voidMethod(13)));
     }
   }
 }
\ No newline at end of file
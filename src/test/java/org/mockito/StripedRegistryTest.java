@@ -0,0 +1,64 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Nested.class)
+public class StripedRegistryTest
+{
+  private StripedRegistry<String> registry;
+
+  @Before
+  public void setUp()
+  {
+    registry = new StripedRegistry<>();
+  }
+
+  private void inThread(Runnable task) throws InterruptedException
+  {
+    Thread thread = new Thread(task);
+    thread.start();
+    thread.join();
+  }
+
+  private List<String> elements()
+  {
+    List<String> elements = new ArrayList<>();
+    registry.forEach(elements::add);
+    return elements;
+  }
+
+  public class ClearTest
+  {
+    @Test
+    public void keepsElementsOfFinishedThreadsUntilCleared() throws InterruptedException
+    {
+      inThread(() -> registry.add("pippo"));
+      assertThat(elements().size(), is(1));
+    }
+
+    @Test
+    public void dropsStripesOfFinishedThreads() throws InterruptedException
+    {
+      registry.add("pippo");
+      inThread(() -> registry.add("pluto"));
+      inThread(() -> registry.add("paperino"));
+      assertThat(registry.stripes(), is(3));
+
+      registry.clear();
+
+      assertThat(registry.stripes(), is(1));
+      assertThat(elements().isEmpty(), is(true));
+      registry.add("pippo");
+      assertThat(elements().size(), is(1));
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.exceptions.base.MockitoException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(Nested.class)
+public class TemplateTest
+{
+  public class JMockitoTemplateTest
+  {
+    private Template<Mockable, String> template;
+
+    @Before
+    public void setUp()
+    {
+      template = JMockito.template(Mockable.class, t -> t.nonVoidMethod(Matchers.anyInt()));
+    }
+
+    @Test
+    public void withArguments()
+    {
+      Mockable mock = JMockito.mock(Mockable.class);
+      template.when(mock, 12).thenReturn("dodici");
+      template.when(mock, 13).thenReturn("tredici");
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+      assertThat(mock.nonVoidMethod(13), is("tredici"));
+    }
+
+    @Test(expected = UnexpectedInvocationError.class)
+    public void unstubbedArguments()
+    {
+      Mockable mock = JMockito.mock(Mockable.class);
+      template.when(mock, 12).thenReturn("dodici");
+      mock.nonVoidMethod(14);
+    }
+
+    @Test
+    public void withCapturedMatchers()
+    {
+      Mockable mock = JMockito.mock(Mockable.class);
+      template.when(mock).thenReturn("any");
+      assertThat(mock.nonVoidMethod(12), is("any"));
+      assertThat(mock.nonVoidMethod(14), is("any"));
+    }
+
+    @Test
+    public void manyMocks()
+    {
+      Mockable mock1 = JMockito.mock(Mockable.class);
+      Mockable mock2 = JMockito.mock(Mockable.class);
+      template.when(mock1, 12).thenReturn("dodici");
+      template.when(mock2, 12).thenReturn("twelve");
+      assertThat(mock1.nonVoidMethod(12), is("dodici"));
+      assertThat(mock2.nonVoidMethod(12), is("twelve"));
+    }
+
+    @Test
+    public void mockitoMock()
+    {
+      Mockable mock = Mockito.mock(Mockable.class);
+      template.when(mock, 12).thenReturn("dodici");
+      assertThat(mock.nonVoidMethod(12), is("dodici"));
+    }
+
+    @Test(expected = MockitoException.class)
+    public void wrongArgumentCount()
+    {
+      template.when(JMockito.mock(Mockable.class), 12, 13).thenReturn("dodici");
+    }
+
+    @Test
+    public void wrongArgumentType()
+    {
+      try
+      {
+        template.when(JMockito.mock(Mockable.class), "twelve");
+        fail();
+      }
+      catch (MockitoException e)
+      {
+        assertThat(e.getMessage(), is("template for nonVoidMethod takes java.lang.Integer as argument 1, twelve given"));
+      }
+    }
+
+    @Test(expected = MockitoException.class)
+    public void nullPrimitiveArgument()
+    {
+      template.when(JMockito.mock(Mockable.class), (Object) null);
+    }
+
+    @Test
+    public void functionInvokingNothing()
+    {
+      try
+      {
+        JMockito.template(Mockable.class, t -> "nothing");
+        fail();
+      }
+      catch (MockitoException e)
+      {
+        assertThat(e.getMessage(), is("stubbing of Mockable did not invoke any of its methods"));
+      }
+
+      Mockito.validateMockitoUsage();
+
+      template.when(JMockito.mock(Mockable.class), 12).thenReturn("dodici");
+    }
+
+    @Test
+    public void failingFunction()
+    {
+      try
+      {
+        JMockito.template(Mockable.class, t ->
+        {
+          t.nonVoidMethod(Matchers.anyInt());
+          throw new IllegalStateException();
+        });
+        fail();
+      }
+      catch (IllegalStateException e)
+      {
+        Mockito.validateMockitoUsage();
+        Mockable mock = JMockito.mock(Mockable.class);
+        template.when(mock, 12).thenReturn("dodici");
+        assertThat(mock.nonVoidMethod(12), is("dodici"));
+      }
+    }
+  }
+
+  public class MockeryTemplateTest
+  {
+    private Mockery mockery;
+    private Template<Mockable, String> template;
+
+    @Before
+    public void setUp()
+    {
+      mockery = new Mockery();
+      template = mockery.template(Mockable.class, t -> t.nonVoidMethod(Matchers.anyInt()));
+    }
+
+    private void evaluate(Runnable test) throws Throwable
+    {
+      MockeryTest.evaluate(mockery, test);
+    }
+
+    @Test
+    public void onlyStrictlyNeededStubbing() throws Throwable
+    {
+      evaluate(() ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        template.when(mock, 12).thenReturn("dodici");
+        assertThat(mock.nonVoidMethod(12), is("dodici"));
+      });
+    }
+
+    @Test(expected = org.mockito.exceptions.verification.WantedButNotInvoked.class)
+    public void moreStubbingThanStrictlyNeeded() throws Throwable
+    {
+      evaluate(() ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        template.when(mock, 12).thenReturn("dodici");
+        template.when(mock, 13).thenReturn("tredici");
+        mock.nonVoidMethod(12);
+      });
+    }
+  }
+}
\ No newline at end of file
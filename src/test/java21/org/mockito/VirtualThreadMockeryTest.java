@@ -0,0 +1,190 @@
+package org.mockito;
+
+import net.avh4.test.junit.Nested;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.exceptions.verification.NoInteractionsWanted;
+import org.mockito.internal.util.MockUtil;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(Nested.class)
+public class VirtualThreadMockeryTest
+{
+  private static final int TASKS = 10_000;
+
+  private VirtualThreadMockery mockery;
+
+  @Before
+  public void setUp()
+  {
+    mockery = new VirtualThreadMockery();
+  }
+
+  private void evaluate(Runnable test) throws Throwable
+  {
+    MockeryTest.evaluate(mockery, test);
+  }
+
+  private static void inVirtualThreads(int tasks, Runnable task)
+  {
+    try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-", 0).factory()))
+    {
+      List<Future<?>> futures = new ArrayList<>(tasks);
+
+      for (int i = 0; i < tasks; i++)
+      {
+        futures.add(executor.submit(task));
+      }
+
+      futures.forEach(VirtualThreadMockeryTest::join);
+    }
+  }
+
+  private static void join(Future<?> future)
+  {
+    try
+    {
+      future.get();
+    }
+    catch (ExecutionException e)
+    {
+      if (e.getCause() instanceof Error)
+      {
+        throw (Error) e.getCause();
+      }
+
+      if (e.getCause() instanceof RuntimeException)
+      {
+        throw (RuntimeException) e.getCause();
+      }
+
+      throw new IllegalStateException(e.getCause());
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public class ApplyTest
+  {
+    @Test
+    public void onlyStrictlyNeededStubbing() throws Throwable
+    {
+      evaluate(() -> inVirtualThreads(TASKS, () ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executes(t -> t.nonVoidMethod(12)).thenReturn("dodici");
+        assertThat(mock.nonVoidMethod(12), is("dodici"));
+      }));
+    }
+
+    @Test
+    public void sharedMock() throws Throwable
+    {
+      evaluate(() ->
+      {
+        Mockable mock = mockery.mock(Mockable.class);
+        mockery.when(mock).executesEach(Mockable::nonVoidMethod).thenReturn(IntStream.range(0, TASKS).mapToObj(n -> new SimpleEntry<>(n, String.valueOf(n))));
+        AtomicInteger next = new AtomicInteger();
+        inVirtualThreads(TASKS, () ->
+        {
+          int n = next.getAndIncrement();
+          assertThat(mock.nonVoidMethod(n), is(String.valueOf(n)));
+        });
+      });
+    }
+
+    @Test
+    public void unexpectedInvocationNamesItsThread() throws Throwable
+    {
+      try
+      {
+        evaluate(() ->
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          inVirtualThreads(1, () -> MockeryTest.swallow(() -> mock.voidMethod(13)));
+        });
+        fail();
+      }
+      catch (NoInteractionsWanted e)
+      {
+        assertThat(e.getMessage(), containsString("task-0"));
+      }
+    }
+
+    @Test
+    public void unexpectedInvocationAmongExpectedOnes() throws Throwable
+    {
+      try
+      {
+        evaluate(() ->
+        {
+          Mockable mock = mockery.mock(Mockable.class);
+          mockery.when(mock).executesEach(Mockable::nonVoidMethod).thenReturn(IntStream.range(0, TASKS).mapToObj(n -> new SimpleEntry<>(n, String.valueOf(n))));
+          AtomicInteger next = new AtomicInteger();
+          inVirtualThreads(TASKS, () ->
+          {
+            mock.nonVoidMethod(next.getAndIncrement());
+
+            if (Thread.currentThread().getName().equals("task-7"))
+            {
+              MockeryTest.swallow(() -> mock.voidMethod(13));
+            }
+          });
+        });
+        fail();
+      }
+      catch (NoInteractionsWanted e)
+      {
+        assertThat(e.getMessage(), containsString("task-7]"));
+      }
+    }
+
+    @Test(expected = AssertionError.class)
+    public void failuresInTasksFailTheTest() throws Throwable
+    {
+      evaluate(() -> inVirtualThreads(1, () -> fail("in task")));
+    }
+
+    @Test
+    public void mocksRecordHitsOnly()
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      assertThat(new MockUtil().getMockSettings(mock).isStubOnly(), is(true));
+    }
+
+    @Test
+    public void unexpectedInvocationNamesItsThreadAfterReset() throws Throwable
+    {
+      Mockable mock = mockery.mock(Mockable.class);
+      mockery.reset();
+
+      try
+      {
+        evaluate(() -> inVirtualThreads(1, () -> MockeryTest.swallow(() -> mock.voidMethod(13))));
+        fail();
+      }
+      catch (NoInteractionsWanted e)
+      {
+        assertThat(e.getMessage(), containsString("task-0"));
+      }
+    }
+  }
+}
\ No newline at end of file